@@ -0,0 +1,50 @@
+package com.moviebookingapp.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+    @Value("${seat.materialization.threads:2}")
+    private int materializationThreads;
+
+    @Value("${seat.materialization.queue-capacity:1000}")
+    private int materializationQueueCapacity;
+
+    @Value("${seat.stream.sender-threads:4}")
+    private int streamSenderThreads;
+
+    @Value("${seat.stream.sender-queue-capacity:10000}")
+    private int streamSenderQueueCapacity;
+
+    // Background pool for seat generation, kept off the request threads
+    @Bean
+    public ThreadPoolTaskExecutor seatMaterializationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(materializationThreads);
+        executor.setMaxPoolSize(materializationThreads);
+        executor.setQueueCapacity(materializationQueueCapacity);
+        executor.setThreadNamePrefix("seat-materializer-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    // Writes seat-map frames to SSE subscribers, so one slow socket never stalls the fan-out
+    @Bean
+    public ThreadPoolTaskExecutor seatStreamExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(streamSenderThreads);
+        executor.setMaxPoolSize(streamSenderThreads);
+        executor.setQueueCapacity(streamSenderQueueCapacity);
+        executor.setThreadNamePrefix("seat-stream-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -179,7 +179,7 @@ public class DataLoader implements CommandLineRunner {
     
     private void loadSampleShowtimes() {
         List<Movie> movies = movieRepository.findAll();
-        List<Theater> theaters = theaterService.findActiveTheaters();
+        List<Theater> theaters = theaterRepository.findActiveTheatersOrderByName();
         LocalDateTime now = LocalDateTime.now();
         
         // Create showtimes for each movie in different theaters
@@ -0,0 +1,58 @@
+package com.moviebookingapp.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moviebookingapp.backend.service.WaitingRoomService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.util.Map;
+
+// Puts the per-showtime seat endpoints behind the waiting room; booking creation checks it in BookingController
+@Configuration
+public class WaitingRoomConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private WaitingRoomService waitingRoomService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                     @NonNull Object handler) throws IOException {
+                @SuppressWarnings("unchecked")
+                Map<String, String> variables = (Map<String, String>)
+                    request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+                String showtimeId = variables == null ? null : variables.get("showtimeId");
+                if (showtimeId == null || !showtimeId.chars().allMatch(Character::isDigit)) {
+                    return true; // Let the controller reject it
+                }
+
+                WaitingRoomService.Admission admission =
+                    waitingRoomService.enter(Long.valueOf(showtimeId), waitingRoomService.visitorId(request));
+                if (admission.isAdmitted()) {
+                    return true;
+                }
+                response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, admission.estimatedWaitSeconds())));
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                objectMapper.writeValue(response.getOutputStream(), WaitingRoomService.queuedBody(admission));
+                return false;
+            }
+        }).addPathPatterns("/api/seats/showtime/**");
+    }
+}
@@ -1,10 +1,14 @@
 package com.moviebookingapp.backend.controller;
 
 import com.moviebookingapp.backend.entity.User;
-import com.moviebookingapp.backend.security.JwtUtil;
+import com.moviebookingapp.backend.exception.DuplicateUserException;
+import com.moviebookingapp.backend.exception.PasswordHashingBusyException;
+import com.moviebookingapp.backend.service.RefreshTokenService;
 import com.moviebookingapp.backend.service.UserService;
 import lombok.Data;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import org.springframework.web.bind.annotation.*;
@@ -20,10 +24,8 @@ public class AdminAuthController {
     private UserService userService;
     
     @Autowired
-    private JwtUtil jwtUtil;
+    private RefreshTokenService refreshTokenService;
     
-    @Autowired
-    private org.springframework.security.crypto.password.PasswordEncoder passwordEncoder;
 
     @PostMapping("/login")
     public ResponseEntity<?> adminLogin(@RequestBody AdminLoginRequest request) {
@@ -42,20 +44,24 @@ public class AdminAuthController {
             }
             
             // Verify password
-            if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+            if (!userService.checkPassword(user, request.getPassword())) {
                 return ResponseEntity.status(401).body(Map.of("error", "Invalid admin credentials"));
             }
             
-            // Generate JWT token
-            String token = jwtUtil.generateToken(user.getUsername());
+            // Generate JWT access token and refresh token
+            RefreshTokenService.IssuedTokens tokens = refreshTokenService.issue(user);
             
             return ResponseEntity.ok(Map.of(
-                "token", token,
+                "token", tokens.accessToken(),
+                "refreshToken", tokens.refreshToken(),
+                "expiresIn", tokens.expiresIn(),
                 "username", user.getUsername(),
                 "role", user.getRole(),
                 "message", "Admin login successful"
             ));
             
+        } catch (PasswordHashingBusyException e) {
+            return busy(e);
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of("error", "Admin login failed: " + e.getMessage()));
         }
@@ -69,17 +75,7 @@ public class AdminAuthController {
                 return ResponseEntity.status(403).body(Map.of("error", "Invalid admin creation key"));
             }
             
-            // Check if username already exists
-            if (userService.findByUsername(request.getUsername()).isPresent()) {
-                return ResponseEntity.badRequest().body(Map.of("error", "Username already exists"));
-            }
-            
-            // Check if email already exists
-            if (userService.findByEmail(request.getEmail()).isPresent()) {
-                return ResponseEntity.badRequest().body(Map.of("error", "Email already exists"));
-            }
-            
-            // Create admin user
+            // Create admin user; a taken username or email is rejected by the unique constraints
             User adminUser = userService.createAdminUser(
                 request.getUsername(),
                 request.getPassword(),
@@ -92,11 +88,21 @@ public class AdminAuthController {
                 "role", adminUser.getRole()
             ));
             
+        } catch (DuplicateUserException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (PasswordHashingBusyException e) {
+            return busy(e);
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of("error", "Admin creation failed: " + e.getMessage()));
         }
     }
     
+    private ResponseEntity<?> busy(PasswordHashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(Map.of("error", e.getMessage()));
+    }
+    
     @Data
     static class AdminLoginRequest {
         private String username;
@@ -2,23 +2,26 @@ package com.moviebookingapp.backend.controller;
 
 import com.moviebookingapp.backend.entity.User;
 import com.moviebookingapp.backend.dto.UserRegistrationRequest;
-import com.moviebookingapp.backend.security.JwtUtil;
+import com.moviebookingapp.backend.exception.DuplicateUserException;
+import com.moviebookingapp.backend.exception.PasswordHashingBusyException;
+import com.moviebookingapp.backend.service.RefreshTokenService;
 import com.moviebookingapp.backend.service.UserService;
 import lombok.Data;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
     @Autowired
     private UserService userService;
     @Autowired
-    private JwtUtil jwtUtil;
-    @Autowired
-    private org.springframework.security.crypto.password.PasswordEncoder passwordEncoder;
+    private RefreshTokenService refreshTokenService;
 
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody UserRegistrationRequest request) {
@@ -34,14 +37,6 @@ public class AuthController {
                 return ResponseEntity.badRequest().body("Email is required");
             }
             
-            // Check if user already exists
-            if (userService.findByUsername(request.getUsername()).isPresent()) {
-                return ResponseEntity.badRequest().body("Username already exists");
-            }
-            if (userService.findByEmail(request.getEmail()).isPresent()) {
-                return ResponseEntity.badRequest().body("Email already exists");
-            }
-            
             // Create User entity from DTO
             User user = User.builder()
                     .username(request.getUsername())
@@ -50,9 +45,13 @@ public class AuthController {
                     .role("USER")  // Always set to USER for registration
                     .build();
             
-            // Password will be hashed in UserService
-            User savedUser = userService.save(user);
+            // Password will be hashed in UserService; duplicates are caught by the unique constraints
+            User savedUser = userService.register(user);
             return ResponseEntity.ok(savedUser);
+        } catch (DuplicateUserException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (PasswordHashingBusyException e) {
+            return busy(e);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Registration failed: " + e.getMessage());
         }
@@ -61,24 +60,55 @@ public class AuthController {
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody AuthRequest request) {
         try {
-            UserDetails userDetails = userService.loadUserByUsername(request.getUsername());
-            if (!passwordEncoder.matches(request.getPassword(), userDetails.getPassword())) {
+            User user = userService.findByUsername(request.getUsername()).orElse(null);
+            if (user == null || !userService.checkPassword(user, request.getPassword())) {
                 return ResponseEntity.status(401).body("Invalid credentials");
             }
-            String token = jwtUtil.generateToken(userDetails.getUsername());
-            return ResponseEntity.ok(new AuthResponse(token));
+            RefreshTokenService.IssuedTokens tokens = refreshTokenService.issue(user);
+            return ResponseEntity.ok(new AuthResponse(tokens.accessToken(), tokens.refreshToken(), tokens.expiresIn()));
+        } catch (PasswordHashingBusyException e) {
+            return busy(e);
         } catch (Exception e) {
             return ResponseEntity.status(401).body("Invalid credentials");
         }
     }
 
+    // Trades a refresh token for a new access token and a new refresh token; each works once
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshRequest request) {
+        return refreshTokenService.rotate(request.getRefreshToken())
+                .<ResponseEntity<?>>map(tokens -> ResponseEntity.ok(
+                        new AuthResponse(tokens.accessToken(), tokens.refreshToken(), tokens.expiresIn())))
+                .orElseGet(() -> ResponseEntity.status(401).body("Invalid refresh token"));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestBody(required = false) RefreshRequest request,
+                                    @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        String accessToken = authHeader != null && authHeader.startsWith("Bearer ") ? authHeader.substring(7) : null;
+        refreshTokenService.logout(request == null ? null : request.getRefreshToken(), accessToken);
+        return ResponseEntity.ok(Map.of("message", "Logged out"));
+    }
+
+    private ResponseEntity<?> busy(PasswordHashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+    }
+
     @Data
     static class AuthRequest {
         private String username;
         private String password;
     }
     @Data
+    static class RefreshRequest {
+        private String refreshToken;
+    }
+    @Data
     static class AuthResponse {
         private final String token;
+        private final String refreshToken;
+        private final long expiresIn;
     }
 }
@@ -1,22 +1,26 @@
 package com.moviebookingapp.backend.controller;
 
 import com.moviebookingapp.backend.entity.Booking;
-import com.moviebookingapp.backend.entity.Seat;
 import com.moviebookingapp.backend.entity.Showtime;
 import com.moviebookingapp.backend.entity.User;
+import com.moviebookingapp.backend.exception.SeatUnavailableException;
+import com.moviebookingapp.backend.security.AuthenticatedUser;
+import com.moviebookingapp.backend.service.BookingCoordinator;
 import com.moviebookingapp.backend.service.BookingService;
+import com.moviebookingapp.backend.service.IdempotencyService;
 import com.moviebookingapp.backend.service.ShowtimeService;
 import com.moviebookingapp.backend.service.UserService;
 import com.moviebookingapp.backend.service.SeatService;
+import com.moviebookingapp.backend.service.WaitingRoomService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -35,28 +39,31 @@ public class BookingController {
     
     @Autowired
     private SeatService seatService;
+    
+    @Autowired
+    private BookingCoordinator bookingCoordinator;
+    
+    @Autowired
+    private IdempotencyService idempotencyService;
+    
+    @Autowired
+    private WaitingRoomService waitingRoomService;
 
     // USER-SCOPED OPERATIONS - Users can only see their own bookings
     
     @GetMapping
-    public ResponseEntity<?> getMyBookings() {
+    public ResponseEntity<?> getMyBookings(AuthenticatedUser currentUser) {
         try {
-            // Get current user from security context
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            String username = auth.getName();
-            
-            // Find user
-            Optional<User> userOpt = userService.findByUsername(username);
-            if (userOpt.isEmpty()) {
+            if (currentUser == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("error", "User not found"));
             }
             
-            // Get bookings for this user only
-            List<Booking> userBookings = bookingService.findByUser(userOpt.get());
+            // Get bookings for this user only; no user lookup needed
+            List<Booking> userBookings = bookingService.findByUserId(currentUser.id());
             
             return ResponseEntity.ok(Map.of(
-                "user", username,
+                "user", currentUser.username(),
                 "bookings", userBookings,
                 "count", userBookings.size()
             ));
@@ -68,15 +75,9 @@ public class BookingController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getMyBookingById(@PathVariable Long id) {
+    public ResponseEntity<?> getMyBookingById(@PathVariable Long id, AuthenticatedUser currentUser) {
         try {
-            // Get current user from security context
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            String username = auth.getName();
-            
-            // Find user
-            Optional<User> userOpt = userService.findByUsername(username);
-            if (userOpt.isEmpty()) {
+            if (currentUser == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("error", "User not found"));
             }
@@ -90,7 +91,7 @@ public class BookingController {
             Booking booking = bookingOpt.get();
             
             // Security check: Only allow users to view their own bookings
-            if (!booking.getUser().getId().equals(userOpt.get().getId())) {
+            if (!booking.getUser().getId().equals(currentUser.id())) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", "Access denied: You can only view your own bookings"));
             }
@@ -111,7 +112,24 @@ public class BookingController {
     }
 
     @PostMapping
-    public ResponseEntity<?> createBooking(@RequestBody Map<String, Object> bookingRequest) {
+    public ResponseEntity<?> createBooking(@RequestBody Map<String, Object> bookingRequest,
+                                           @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                           AuthenticatedUser currentUser,
+                                           HttpServletRequest request) {
+        String visitorId = waitingRoomService.visitorId(request);
+        if (idempotencyKey == null) {
+            return placeBooking(bookingRequest, currentUser, visitorId);
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > 255) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("error", "Idempotency-Key must be 1 to 255 characters"));
+        }
+        // Retries are answered before any user or showtime lookup
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        return idempotencyService.execute(username, idempotencyKey, bookingRequest, () -> placeBooking(bookingRequest, currentUser, visitorId));
+    }
+    
+    private ResponseEntity<?> placeBooking(Map<String, Object> bookingRequest, AuthenticatedUser currentUser, String visitorId) {
         try {
             // Extract data from request
             Long showtimeId = Long.valueOf(bookingRequest.get("showtimeId").toString());
@@ -121,12 +139,16 @@ public class BookingController {
             @SuppressWarnings("unchecked")
             List<String> selectedSeats = (List<String>) bookingRequest.get("selectedSeats");
             
-            // Get current user from security context
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            String username = auth.getName();
+            // Hot on-sale: only visitors admitted by the waiting room get to the database
+            WaitingRoomService.Admission admission = waitingRoomService.enter(showtimeId, visitorId);
+            if (!admission.isAdmitted()) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, admission.estimatedWaitSeconds())))
+                    .body(WaitingRoomService.queuedBody(admission));
+            }
             
-            // Find user and showtime
-            Optional<User> userOpt = userService.findByUsername(username);
+            // Find user (by id from the principal, usually a cache hit) and showtime
+            Optional<User> userOpt = currentUser == null ? Optional.empty() : userService.findById(currentUser.id());
             Optional<Showtime> showtimeOpt = showtimeService.findById(showtimeId);
             
             if (userOpt.isEmpty()) {
@@ -152,34 +174,24 @@ public class BookingController {
                     .body(Map.of("error", "Number of selected seats doesn't match ticket count"));
             }
             
-            // Check if selected seats are available
-            if (!seatService.areSeatsAvailable(selectedSeats, showtime)) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(Map.of("error", "One or more selected seats are not available"));
+            // Cheap in-memory pre-check; the claim below is the authoritative one.
+            // Either one refusing answers the same 409 with the seats that were lost
+            List<String> unavailableSeats = seatService.unavailableSeats(selectedSeats, showtime);
+            if (!unavailableSeats.isEmpty()) {
+                throw new SeatUnavailableException(unavailableSeats);
             }
             
-            // Create booking
-            Booking booking = Booking.builder()
-                    .user(userOpt.get())
-                    .showtime(showtime)
-                    .numTickets(numTickets)
-                    .seatNumbers(String.join(",", selectedSeats))
-                    .bookingTime(LocalDateTime.now())
-                    .build();
-            
-            // Save booking first
-            Booking savedBooking = bookingService.save(booking);
-            
-            // Book the specific seats
-            seatService.bookSeats(selectedSeats, showtime, savedBooking);
-            
-            // Update available seats count
-            Integer availableSeats = seatService.countAvailableSeats(showtime);
-            showtime.setAvailableSeats(availableSeats);
-            showtimeService.save(showtime);
+            // Insert booking and claim seats atomically
+            Booking savedBooking = bookingCoordinator.createBooking(userOpt.get(), showtime, selectedSeats);
             
             return ResponseEntity.ok(savedBooking);
             
+        } catch (SeatUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of(
+                    "error", "One or more selected seats are not available",
+                    "unavailableSeats", e.getUnavailableSeats()
+                ));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(Map.of("error", "Failed to create booking: " + e.getMessage()));
@@ -187,12 +199,9 @@ public class BookingController {
     }
     
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> cancelBooking(@PathVariable Long id, Authentication authentication) {
+    public ResponseEntity<?> cancelBooking(@PathVariable Long id, AuthenticatedUser currentUser) {
         try {
-            String username = authentication.getName();
-            Optional<User> userOpt = userService.findByUsername(username);
-            
-            if (!userOpt.isPresent()) {
+            if (currentUser == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("error", "User not found"));
             }
@@ -206,27 +215,18 @@ public class BookingController {
             Booking booking = bookingOpt.get();
             
             // Check if the booking belongs to the current user
-            if (!booking.getUser().getId().equals(userOpt.get().getId())) {
+            if (!booking.getUser().getId().equals(currentUser.id())) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", "You can only cancel your own bookings"));
             }
             
-            // Unbook the seats first
-            List<Seat> bookedSeats = seatService.findByShowtime(booking.getShowtime())
-                .stream()
-                .filter(seat -> seat.getBooking() != null && seat.getBooking().getId().equals(id))
-                .collect(java.util.stream.Collectors.toList());
-            
-            for (Seat seat : bookedSeats) {
-                seat.setIsBooked(false);
-                seat.setBooking(null);
-                seatService.save(seat);
-            }
-            
-            // Delete the booking
-            bookingService.deleteById(id);
+            // Release the seats and delete the booking in one transaction
+            List<String> releasedSeats = bookingCoordinator.cancelBooking(booking);
             
-            return ResponseEntity.ok(Map.of("message", "Booking cancelled successfully"));
+            return ResponseEntity.ok(Map.of(
+                "message", "Booking cancelled successfully",
+                "releasedSeats", releasedSeats
+            ));
             
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -1,6 +1,7 @@
 package com.moviebookingapp.backend.controller;
 
 import com.moviebookingapp.backend.entity.Movie;
+import com.moviebookingapp.backend.service.CatalogCache;
 import com.moviebookingapp.backend.service.MovieService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -15,6 +16,9 @@ import java.util.Optional;
 public class MovieController {
     @Autowired
     private MovieService movieService;
+    
+    @Autowired
+    private CatalogCache catalogCache;
 
     @GetMapping
     public List<Movie> getAllMovies() {
@@ -28,12 +32,14 @@ public class MovieController {
     }
 
     // ADMIN ONLY OPERATIONS - Require ADMIN role
+    // Movies are embedded in the showtime and theater lists too, so the whole catalog cache is dropped
     
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Movie> createMovie(@RequestBody Movie movie) {
         try {
             Movie savedMovie = movieService.save(movie);
+            catalogCache.invalidateAll();
             return ResponseEntity.ok(savedMovie);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
@@ -46,6 +52,7 @@ public class MovieController {
         try {
             movie.setId(id);
             Movie updatedMovie = movieService.save(movie);
+            catalogCache.invalidateAll();
             return ResponseEntity.ok(updatedMovie);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
@@ -57,6 +64,7 @@ public class MovieController {
     public ResponseEntity<Void> deleteMovie(@PathVariable Long id) {
         try {
             movieService.deleteById(id);
+            catalogCache.invalidateAll();
             return ResponseEntity.noContent().build();
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
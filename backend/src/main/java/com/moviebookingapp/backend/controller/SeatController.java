@@ -1,13 +1,33 @@
 package com.moviebookingapp.backend.controller;
 
+import com.moviebookingapp.backend.entity.Booking;
 import com.moviebookingapp.backend.entity.Seat;
 import com.moviebookingapp.backend.entity.Showtime;
+import com.moviebookingapp.backend.entity.User;
+import com.moviebookingapp.backend.exception.SeatUnavailableException;
+import com.moviebookingapp.backend.security.AuthenticatedUser;
+import com.moviebookingapp.backend.service.BookingCoordinator;
+import com.moviebookingapp.backend.service.SeatChangeLog;
+import com.moviebookingapp.backend.service.SeatHold;
+import com.moviebookingapp.backend.service.SeatHoldService;
+import com.moviebookingapp.backend.service.SeatLayoutService;
+import com.moviebookingapp.backend.service.SeatMaterializationService;
 import com.moviebookingapp.backend.service.SeatService;
+import com.moviebookingapp.backend.service.SeatStatusChangedEvent;
+import com.moviebookingapp.backend.service.SeatStreamService;
 import com.moviebookingapp.backend.service.ShowtimeService;
+import com.moviebookingapp.backend.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -21,9 +41,32 @@ public class SeatController {
     
     @Autowired
     private ShowtimeService showtimeService;
+    
+    @Autowired
+    private SeatHoldService seatHoldService;
+    
+    @Autowired
+    private BookingCoordinator bookingCoordinator;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private SeatMaterializationService seatMaterializationService;
+    
+    @Autowired
+    private SeatLayoutService seatLayoutService;
+    
+    @Autowired
+    private SeatStreamService seatStreamService;
+    
+    @Autowired
+    private SeatChangeLog seatChangeLog;
 
+    // The strong ETag is the showtime's seat-state version: an unchanged map is answered with
+    // 304 before any seats are loaded or serialized
     @GetMapping("/showtime/{showtimeId}")
-    public ResponseEntity<?> getSeatsByShowtime(@PathVariable Long showtimeId) {
+    public ResponseEntity<?> getSeatsByShowtime(@PathVariable Long showtimeId, WebRequest request) {
         try {
             Optional<Showtime> showtimeOpt = showtimeService.findById(showtimeId);
             if (showtimeOpt.isEmpty()) {
@@ -31,19 +74,38 @@ public class SeatController {
                     .body(Map.of("error", "Showtime not found"));
             }
             
+            // Read before the state so a concurrent change can only make the tag older, never newer
+            long version = seatChangeLog.currentVersion(showtimeId);
+            String etag = "\"" + version + "\"";
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+            
             Showtime showtime = showtimeOpt.get();
             List<Seat> seats = seatService.findByShowtime(showtime);
             
-            // If no seats exist, generate them
+            // Seats not generated yet (e.g. showtime predates eager generation): queue them and
+            // answer with the empty layout instead of writing from a read request
             if (seats.isEmpty()) {
-                seatService.generateSeatsForShowtime(showtime);
-                seats = seatService.findByShowtime(showtime);
+                seatMaterializationService.materializeAsync(showtime);
+                List<Seat> emptySeats = seatService.emptyLayout(showtime);
+                return ResponseEntity.ok().eTag(etag).body(Map.of(
+                    "showtime", showtime,
+                    "seats", emptySeats,
+                    "layout", seatLayoutService.forShowtime(showtime),
+                    "heldSeats", List.of(),
+                    "availableCount", emptySeats.size(),
+                    "version", version
+                ));
             }
             
-            return ResponseEntity.ok(Map.of(
+            return ResponseEntity.ok().eTag(etag).body(Map.of(
                 "showtime", showtime,
                 "seats", seats,
-                "availableCount", seatService.countAvailableSeats(showtime)
+                "layout", seatLayoutService.forShowtime(showtime),
+                "heldSeats", seatService.findHeldSeats(showtime),
+                "availableCount", seatService.countAvailableSeats(showtime),
+                "version", version
             ));
             
         } catch (Exception e) {
@@ -51,6 +113,43 @@ public class SeatController {
                 .body(Map.of("error", "Failed to load seats: " + e.getMessage()));
         }
     }
+    
+    // Seats changed since a version from an earlier response; falls back to a full snapshot
+    // when that version is older than what the change log still holds
+    @GetMapping("/showtime/{showtimeId}/changes")
+    public ResponseEntity<?> getSeatChanges(@PathVariable Long showtimeId, @RequestParam long since) {
+        try {
+            Optional<Showtime> showtimeOpt = showtimeService.findById(showtimeId);
+            if (showtimeOpt.isEmpty()) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Showtime not found"));
+            }
+            
+            long version = seatChangeLog.currentVersion(showtimeId);
+            Optional<Map<String, SeatStatusChangedEvent.Status>> changes = seatChangeLog.changesSince(showtimeId, since);
+            if (changes.isPresent()) {
+                return ResponseEntity.ok(Map.of(
+                    "showtimeId", showtimeId,
+                    "version", version,
+                    "snapshot", false,
+                    "changes", changes.get()
+                ));
+            }
+            
+            Showtime showtime = showtimeOpt.get();
+            return ResponseEntity.ok(Map.of(
+                "showtimeId", showtimeId,
+                "version", version,
+                "snapshot", true,
+                "availableSeats", seatService.findAvailableSeats(showtime),
+                "heldSeats", seatService.findHeldSeats(showtime)
+            ));
+            
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Failed to load seat changes: " + e.getMessage()));
+        }
+    }
 
     @GetMapping("/available/showtime/{showtimeId}")
     public ResponseEntity<?> getAvailableSeats(@PathVariable Long showtimeId) {
@@ -61,7 +160,7 @@ public class SeatController {
                     .body(Map.of("error", "Showtime not found"));
             }
             
-            List<Seat> availableSeats = seatService.findAvailableSeats(showtimeOpt.get());
+            List<String> availableSeats = seatService.findAvailableSeats(showtimeOpt.get());
             return ResponseEntity.ok(availableSeats);
             
         } catch (Exception e) {
@@ -69,4 +168,175 @@ public class SeatController {
                 .body(Map.of("error", "Failed to load available seats: " + e.getMessage()));
         }
     }
+    
+    // Live seat map: one snapshot event, then "delta" events of seat -> FREE/HELD/BOOKED
+    @GetMapping(value = "/showtime/{showtimeId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSeats(@PathVariable Long showtimeId) throws IOException {
+        Optional<Showtime> showtimeOpt = showtimeService.findById(showtimeId);
+        if (showtimeOpt.isEmpty()) {
+            SseEmitter emitter = new SseEmitter();
+            emitter.send(SseEmitter.event().name("error").data(Map.of("error", "Showtime not found"), MediaType.APPLICATION_JSON));
+            emitter.complete();
+            return emitter;
+        }
+        return seatStreamService.subscribe(showtimeOpt.get());
+    }
+    
+    // BEST AVAILABLE - Best block of adjacent seats in one row
+
+    @GetMapping("/showtime/{showtimeId}/best")
+    public ResponseEntity<?> getBestSeats(@PathVariable Long showtimeId, @RequestParam int count) {
+        try {
+            Optional<Showtime> showtimeOpt = showtimeService.findById(showtimeId);
+            if (showtimeOpt.isEmpty()) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Showtime not found"));
+            }
+            if (count <= 0) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Count must be positive"));
+            }
+
+            List<String> seats = seatService.findBestBlock(showtimeOpt.get(), count);
+            if (seats.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", "No " + count + " adjacent seats available"));
+            }
+            return ResponseEntity.ok(Map.of("showtimeId", showtimeId, "seats", seats));
+
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Failed to find seats: " + e.getMessage()));
+        }
+    }
+
+    // Same search, but the block is held for the caller in the same step
+    @PostMapping("/showtime/{showtimeId}/best/holds")
+    public ResponseEntity<?> holdBestSeats(@PathVariable Long showtimeId, @RequestParam int count,
+                                           Authentication authentication) {
+        try {
+            Optional<Showtime> showtimeOpt = showtimeService.findById(showtimeId);
+            if (showtimeOpt.isEmpty()) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Showtime not found"));
+            }
+            if (count <= 0) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Count must be positive"));
+            }
+
+            Optional<SeatHold> hold = seatService.holdBestBlock(showtimeOpt.get(), authentication.getName(), count);
+            if (hold.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", "No " + count + " adjacent seats available"));
+            }
+            return ResponseEntity.ok(holdResponse(hold.get()));
+
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Failed to hold seats: " + e.getMessage()));
+        }
+    }
+
+    // SEAT HOLDS - Lock seats for a short time while the user checks out
+
+    @PostMapping("/showtime/{showtimeId}/holds")
+    public ResponseEntity<?> createHold(@PathVariable Long showtimeId,
+                                        @RequestBody Map<String, Object> holdRequest,
+                                        Authentication authentication) {
+        try {
+            @SuppressWarnings("unchecked")
+            List<String> selectedSeats = (List<String>) holdRequest.get("selectedSeats");
+            
+            if (showtimeService.findById(showtimeId).isEmpty()) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Showtime not found"));
+            }
+            
+            SeatHold hold = seatHoldService.hold(showtimeId, authentication.getName(), selectedSeats);
+            return ResponseEntity.ok(holdResponse(hold));
+            
+        } catch (SeatUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of(
+                    "error", "One or more selected seats are not available",
+                    "unavailableSeats", e.getUnavailableSeats()
+                ));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Failed to hold seats: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/showtime/{showtimeId}/holds/{holdId}")
+    public ResponseEntity<?> getHold(@PathVariable Long showtimeId, @PathVariable String holdId) {
+        Optional<SeatHold> hold = seatHoldService.findActive(holdId)
+            .filter(h -> h.getShowtimeId().equals(showtimeId));
+        if (hold.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", "Hold not found or expired"));
+        }
+        return ResponseEntity.ok(holdResponse(hold.get()));
+    }
+    
+    @DeleteMapping("/showtime/{showtimeId}/holds/{holdId}")
+    public ResponseEntity<?> releaseHold(@PathVariable Long showtimeId, @PathVariable String holdId,
+                                         Authentication authentication) {
+        if (!seatHoldService.release(showtimeId, holdId, authentication.getName())) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", "Hold not found or expired"));
+        }
+        return ResponseEntity.ok(Map.of("message", "Hold released successfully"));
+    }
+    
+    // Turns a hold into a booking; the hold is only removed once the booking has committed,
+    // so a failed claim leaves it in place to retry until it expires
+    @PostMapping("/showtime/{showtimeId}/holds/{holdId}/confirm")
+    public ResponseEntity<?> confirmHold(@PathVariable Long showtimeId, @PathVariable String holdId,
+                                         AuthenticatedUser currentUser) {
+        try {
+            Optional<User> userOpt = currentUser == null ? Optional.empty() : userService.findById(currentUser.id());
+            if (userOpt.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "User not found"));
+            }
+            
+            Optional<Showtime> showtimeOpt = showtimeService.findById(showtimeId);
+            if (showtimeOpt.isEmpty()) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Showtime not found"));
+            }
+            
+            Optional<SeatHold> hold = seatHoldService.findActive(holdId)
+                .filter(h -> h.getUsername().equals(currentUser.username()))
+                .filter(h -> h.getShowtimeId().equals(showtimeId));
+            if (hold.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", "Hold not found or expired"));
+            }
+            
+            Booking booking = bookingCoordinator.createBooking(userOpt.get(), showtimeOpt.get(),
+                hold.get().getSeatNumbers(), holdId);
+            return ResponseEntity.ok(booking);
+            
+        } catch (SeatUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of(
+                    "error", "One or more selected seats are not available",
+                    "unavailableSeats", e.getUnavailableSeats()
+                ));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Failed to confirm hold: " + e.getMessage()));
+        }
+    }
+    
+    private Map<String, Object> holdResponse(SeatHold hold) {
+        return Map.of(
+            "holdId", hold.getId(),
+            "showtimeId", hold.getShowtimeId(),
+            "seats", hold.getSeatNumbers(),
+            "expiresAt", Instant.ofEpochMilli(hold.getExpiresAtMillis()).toString()
+        );
+    }
 }
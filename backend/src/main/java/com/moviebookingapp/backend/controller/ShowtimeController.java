@@ -4,7 +4,10 @@ import com.moviebookingapp.backend.entity.Showtime;
 import com.moviebookingapp.backend.entity.Movie;
 import com.moviebookingapp.backend.entity.Theater;
 import com.moviebookingapp.backend.service.ShowtimeService;
+import com.moviebookingapp.backend.service.CatalogCache;
 import com.moviebookingapp.backend.service.MovieService;
+import com.moviebookingapp.backend.service.SeatCounterReconciler;
+import com.moviebookingapp.backend.service.SeatMaterializationService;
 import com.moviebookingapp.backend.service.TheaterService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -27,6 +30,15 @@ public class ShowtimeController {
     
     @Autowired
     private TheaterService theaterService;
+    
+    @Autowired
+    private SeatMaterializationService seatMaterializationService;
+    
+    @Autowired
+    private SeatCounterReconciler seatCounterReconciler;
+    
+    @Autowired
+    private CatalogCache catalogCache;
 
     @GetMapping
     public List<Showtime> getAllShowtimes() {
@@ -87,6 +99,10 @@ public class ShowtimeController {
                 .build();
             
             Showtime savedShowtime = showtimeService.save(showtime);
+            catalogCache.invalidateAll();
+            
+            // Generate the seat map in the background so the first viewer never has to
+            seatMaterializationService.materializeAsync(savedShowtime);
             return ResponseEntity.ok(savedShowtime);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -124,6 +140,7 @@ public class ShowtimeController {
                 .build();
             
             Showtime updatedShowtime = showtimeService.save(showtime);
+            catalogCache.invalidateAll();
             return ResponseEntity.ok(updatedShowtime);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -136,9 +153,22 @@ public class ShowtimeController {
     public ResponseEntity<Void> deleteShowtime(@PathVariable Long id) {
         try {
             showtimeService.deleteById(id);
+            catalogCache.invalidateAll();
             return ResponseEntity.noContent().build();
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
         }
     }
+    
+    // Checks the denormalized seat counters against the seats table; drift confirmed
+    // on two consecutive checks is repaired
+    @PostMapping("/admin/reconcile-counters")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> reconcileSeatCounters() {
+        List<Map<String, Object>> drifted = seatCounterReconciler.reconcile();
+        return ResponseEntity.ok(Map.of(
+            "drifted", drifted,
+            "count", drifted.size()
+        ));
+    }
 }
@@ -1,6 +1,7 @@
 package com.moviebookingapp.backend.controller;
 
 import com.moviebookingapp.backend.entity.Theater;
+import com.moviebookingapp.backend.service.CatalogCache;
 import com.moviebookingapp.backend.service.TheaterService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +18,9 @@ public class TheaterController {
     
     @Autowired
     private TheaterService theaterService;
+    
+    @Autowired
+    private CatalogCache catalogCache;
 
     @GetMapping
     public ResponseEntity<List<Theater>> getAllTheaters() {
@@ -43,6 +47,7 @@ public class TheaterController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Theater> createTheater(@RequestBody Theater theater) {
         Theater savedTheater = theaterService.save(theater);
+        catalogCache.invalidateAll();
         return ResponseEntity.ok(savedTheater);
     }
 
@@ -53,6 +58,7 @@ public class TheaterController {
         if (existingTheater.isPresent()) {
             theater.setId(id);
             Theater updatedTheater = theaterService.save(theater);
+            catalogCache.invalidateAll();
             return ResponseEntity.ok(updatedTheater);
         }
         return ResponseEntity.notFound().build();
@@ -63,6 +69,7 @@ public class TheaterController {
     public ResponseEntity<?> deleteTheater(@PathVariable Long id) {
         try {
             theaterService.deleteById(id);
+            catalogCache.invalidateAll();
             return ResponseEntity.ok(Map.of("message", "Theater deleted successfully"));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
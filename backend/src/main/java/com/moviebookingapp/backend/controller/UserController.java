@@ -73,6 +73,13 @@ public class UserController {
         }
     }
     
+    // ADMIN ONLY - User cache hit/miss counters
+    @GetMapping("/admin/cache-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> getCacheStats() {
+        return userService.cacheStats();
+    }
+    
     // USER-SCOPED - Delete own account
     @DeleteMapping("/account")
     public ResponseEntity<?> deleteMyAccount() {
@@ -0,0 +1,70 @@
+package com.moviebookingapp.backend.controller;
+
+import com.moviebookingapp.backend.service.WaitingRoomService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/waiting-room")
+public class WaitingRoomController {
+
+    @Autowired
+    private WaitingRoomService waitingRoomService;
+
+    // Admitted straight away while there is room, otherwise a ticket with a queue position.
+    // Admitted clients send the ticket token in the X-Queue-Token header.
+    @PostMapping("/showtime/{showtimeId}/join")
+    public ResponseEntity<?> join(@PathVariable Long showtimeId, HttpServletRequest request) {
+        WaitingRoomService.Admission admission =
+            waitingRoomService.enter(showtimeId, waitingRoomService.visitorId(request));
+        if (admission.status() == WaitingRoomService.Status.FULL) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(WaitingRoomService.queuedBody(admission));
+        }
+        return ResponseEntity.ok(admission);
+    }
+
+    @GetMapping("/showtime/{showtimeId}/tickets/{token}")
+    public ResponseEntity<?> getTicket(@PathVariable Long showtimeId, @PathVariable String token) {
+        Optional<WaitingRoomService.Admission> admission = waitingRoomService.status(showtimeId, token);
+        if (admission.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", "Ticket not found or expired"));
+        }
+        return ResponseEntity.ok(admission.get());
+    }
+
+    // "position" events every tick until a final "admitted" event
+    @GetMapping(value = "/showtime/{showtimeId}/tickets/{token}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTicket(@PathVariable Long showtimeId, @PathVariable String token) throws IOException {
+        Optional<SseEmitter> emitter = waitingRoomService.watch(showtimeId, token);
+        if (emitter.isPresent()) {
+            return emitter.get();
+        }
+        SseEmitter closed = new SseEmitter();
+        Optional<WaitingRoomService.Admission> admission = waitingRoomService.status(showtimeId, token);
+        if (admission.isPresent()) {
+            closed.send(SseEmitter.event().name("admitted").data(admission.get(), MediaType.APPLICATION_JSON));
+        } else {
+            closed.send(SseEmitter.event().name("error").data(Map.of("error", "Ticket not found or expired"), MediaType.APPLICATION_JSON));
+        }
+        closed.complete();
+        return closed;
+    }
+
+    @GetMapping("/metrics")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> getMetrics() {
+        return waitingRoomService.metrics();
+    }
+}
@@ -1,9 +1,11 @@
 package com.moviebookingapp.backend.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Entity
 @Table(name = "bookings")
@@ -29,9 +31,33 @@ public class Booking {
     @Column(nullable = false)
     private Integer numTickets;
     
-    @Column(name = "seat_numbers", length = 500)
-    private String seatNumbers; // Comma-separated seat numbers like "A1,A2,B5"
+    // Packed seat coordinates (see SeatCode), stored as 2 bytes per seat
+    @Column(name = "seat_codes", length = 512)
+    @Convert(converter = SeatCodesConverter.class)
+    @JsonIgnore
+    private int[] seatCodes;
+    
+    // Read-only: comma-separated seat numbers of bookings written before seat_codes existed
+    @Column(name = "seat_numbers", length = 500, insertable = false, updatable = false)
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private String legacySeatNumbers;
 
     @Column(nullable = false)
     private LocalDateTime bookingTime;
+    
+    // API form, e.g. "A1,A2,B5"
+    public String getSeatNumbers() {
+        return seatCodes != null ? String.join(",", SeatCode.formatAll(seatCodes)) : legacySeatNumbers;
+    }
+    
+    @JsonIgnore
+    public List<String> getSeatNumberList() {
+        if (seatCodes != null) {
+            return SeatCode.formatAll(seatCodes);
+        }
+        return legacySeatNumbers == null || legacySeatNumbers.isEmpty()
+            ? List.of() : List.of(legacySeatNumbers.split(","));
+    }
 }
@@ -5,7 +5,11 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "seats")
+@Table(name = "seats", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_seats_showtime_seat", columnNames = {"showtime_id", "seat_number"})
+}, indexes = {
+    @Index(name = "idx_seats_booking_id", columnList = "booking_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -34,10 +38,10 @@ public class Seat {
 
     // Helper methods
     public String getRowLetter() {
-        return seatNumber.replaceAll("\\d", "");
+        return String.valueOf(seatNumber.charAt(0));
     }
 
     public Integer getSeatNumberInRow() {
-        return Integer.parseInt(seatNumber.replaceAll("\\D", ""));
+        return SeatCode.seatInRow(SeatCode.parse(seatNumber));
     }
 }
@@ -0,0 +1,95 @@
+package com.moviebookingapp.backend.entity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Packed seat coordinate: zero-based row in the high bits, 1-based seat within the row in the
+ * low 11 bits, so every seat fits in 16 bits. "B12" is (1 << 11) | 12. The string form is only
+ * produced at the API edge; internally seats are passed around as these ints.
+ */
+public final class SeatCode {
+
+    public static final int INVALID = -1;
+
+    private static final int SEAT_BITS = 11;
+    private static final int MAX_SEAT = (1 << SEAT_BITS) - 1;
+    private static final int MAX_ROWS = 26; // Rows are lettered A-Z
+
+    private SeatCode() {
+    }
+
+    public static int of(int row, int seatInRow) {
+        if (row < 0 || row >= MAX_ROWS || seatInRow < 1 || seatInRow > MAX_SEAT) {
+            return INVALID;
+        }
+        return row << SEAT_BITS | seatInRow;
+    }
+
+    public static int row(int code) {
+        return code >>> SEAT_BITS;
+    }
+
+    public static int seatInRow(int code) {
+        return code & MAX_SEAT;
+    }
+
+    // "B12" -> code, or INVALID. Single pass, no regex or substring allocation.
+    public static int parse(String seatNumber) {
+        if (seatNumber == null || seatNumber.length() < 2 || seatNumber.length() > 5) {
+            return INVALID;
+        }
+        int row = seatNumber.charAt(0) - 'A';
+        int seat = 0;
+        for (int i = 1; i < seatNumber.length(); i++) {
+            char c = seatNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                return INVALID;
+            }
+            seat = seat * 10 + (c - '0');
+        }
+        return of(row, seat);
+    }
+
+    public static String format(int code) {
+        return (char) ('A' + row(code)) + String.valueOf(seatInRow(code));
+    }
+
+    // Parses request input once; rejects malformed seat numbers
+    public static int[] parseAll(List<String> seatNumbers) {
+        int[] codes = new int[seatNumbers.size()];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = parse(seatNumbers.get(i));
+            if (codes[i] == INVALID) {
+                throw new IllegalArgumentException("Invalid seat number: " + seatNumbers.get(i));
+            }
+        }
+        return codes;
+    }
+
+    public static List<String> formatAll(int[] codes) {
+        List<String> seatNumbers = new ArrayList<>(codes.length);
+        for (int code : codes) {
+            seatNumbers.add(format(code));
+        }
+        return seatNumbers;
+    }
+
+    // Two bytes per seat, big-endian; the persisted form of Booking.seatCodes
+    public static byte[] toBytes(int[] codes) {
+        byte[] bytes = new byte[codes.length * 2];
+        for (int i = 0; i < codes.length; i++) {
+            bytes[2 * i] = (byte) (codes[i] >>> 8);
+            bytes[2 * i + 1] = (byte) codes[i];
+        }
+        return bytes;
+    }
+
+    public static int[] fromBytes(byte[] bytes) {
+        int[] codes = new int[bytes.length / 2];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = (bytes[2 * i] & 0xFF) << 8 | (bytes[2 * i + 1] & 0xFF);
+        }
+        return codes;
+    }
+}
@@ -0,0 +1,19 @@
+package com.moviebookingapp.backend.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Stores packed seat codes as a compact binary column (2 bytes per seat)
+@Converter
+public class SeatCodesConverter implements AttributeConverter<int[], byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(int[] codes) {
+        return codes == null ? null : SeatCode.toBytes(codes);
+    }
+
+    @Override
+    public int[] convertToEntityAttribute(byte[] bytes) {
+        return bytes == null ? null : SeatCode.fromBytes(bytes);
+    }
+}
@@ -1,5 +1,6 @@
 package com.moviebookingapp.backend.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
@@ -32,6 +33,23 @@ public class Showtime {
     @Transient
     private Integer availableSeats; // This will be calculated dynamically
     
+    // Denormalized seat counters. Only changed through set-based updates in the same
+    // transaction as the seat change (see SeatCounterService), never by entity saves.
+    @Column(name = "seats_total", updatable = false, columnDefinition = "integer default 0")
+    @Builder.Default
+    @JsonIgnore
+    private Integer seatsTotal = 0; // Generated seats, 0 until seats are materialized
+    
+    @Column(name = "seats_booked", updatable = false, columnDefinition = "integer default 0")
+    @Builder.Default
+    @JsonIgnore
+    private Integer seatsBooked = 0;
+    
+    @Column(name = "seats_held", updatable = false, columnDefinition = "integer default 0")
+    @Builder.Default
+    @JsonIgnore
+    private Integer seatsHeld = 0;
+    
     // Get total seats from theater
     public Integer getTotalSeats() {
         return theater != null ? theater.getTotalSeats() : 144;
@@ -42,7 +60,10 @@ public class Showtime {
         if (availableSeats != null) {
             return availableSeats;
         }
-        return getTotalSeats(); // Default to total seats if not calculated
+        // Fall back to the persisted counters
+        int total = seatsTotal != null && seatsTotal > 0 ? seatsTotal : getTotalSeats();
+        int taken = (seatsBooked != null ? seatsBooked : 0) + (seatsHeld != null ? seatsHeld : 0);
+        return Math.max(0, total - taken);
     }
     
     public void setAvailableSeats(Integer availableSeats) {
@@ -3,11 +3,16 @@ package com.moviebookingapp.backend.entity;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
 @Entity
 @Table(name = "theaters")
+// Second-level cached only when the Hibernate cache backend is enabled (see application.properties)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -24,6 +29,11 @@ public class Theater {
     @Builder.Default
     private Integer totalSeats = 144; // Total seats in this theater (12 rows x 12 seats)
 
+    // Seat layout, one string per row separated by '/': seat-class letters (S, P, R) and '.' for
+    // gaps. Null means rows of 12 standard seats up to totalSeats (see SeatLayout).
+    @Column(length = 2000)
+    private String seatLayout;
+
     @Column(length = 100)
     private String description; // e.g., "Standard Theater", "IMAX Experience", "Luxury Recliner Seats"
 
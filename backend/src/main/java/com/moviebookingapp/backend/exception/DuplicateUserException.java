@@ -0,0 +1,15 @@
+package com.moviebookingapp.backend.exception;
+
+// Thrown when an insert into users hits the unique username or email constraint
+public class DuplicateUserException extends RuntimeException {
+    private final String field;
+
+    public DuplicateUserException(String field) {
+        super(("email".equals(field) ? "Email" : "Username") + " already exists");
+        this.field = field;
+    }
+
+    public String getField() {
+        return field;
+    }
+}
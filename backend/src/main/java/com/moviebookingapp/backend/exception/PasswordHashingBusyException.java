@@ -0,0 +1,8 @@
+package com.moviebookingapp.backend.exception;
+
+// Thrown when the password hashing pool is saturated; callers answer 503 instead of queueing
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException() {
+        super("Too many sign-in requests, please retry shortly");
+    }
+}
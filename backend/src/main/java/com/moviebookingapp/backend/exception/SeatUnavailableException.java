@@ -0,0 +1,17 @@
+package com.moviebookingapp.backend.exception;
+
+import java.util.List;
+
+// Thrown when a seat claim loses one or more seats to another booking
+public class SeatUnavailableException extends RuntimeException {
+    private final List<String> unavailableSeats;
+
+    public SeatUnavailableException(List<String> unavailableSeats) {
+        super("Seats no longer available: " + String.join(",", unavailableSeats));
+        this.unavailableSeats = unavailableSeats;
+    }
+
+    public List<String> getUnavailableSeats() {
+        return unavailableSeats;
+    }
+}
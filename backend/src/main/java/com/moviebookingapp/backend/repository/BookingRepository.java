@@ -3,10 +3,22 @@ package com.moviebookingapp.backend.repository;
 import com.moviebookingapp.backend.entity.Booking;
 import com.moviebookingapp.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     
     List<Booking> findByUserOrderByBookingTimeDesc(User user);
+    
+    // By user id alone, with user and showtime fetched in the same query
+    @Query("SELECT b FROM Booking b JOIN FETCH b.user JOIN FETCH b.showtime WHERE b.user.id = :userId ORDER BY b.bookingTime DESC")
+    List<Booking> findByUserIdOrderByBookingTimeDesc(@Param("userId") Long userId);
+    
+    // Direct delete without loading the entity first
+    @Modifying
+    @Query("DELETE FROM Booking b WHERE b.id = :id")
+    int deleteBookingById(@Param("id") Long id);
 }
@@ -1,7 +1,16 @@
 package com.moviebookingapp.backend.repository;
 
 import com.moviebookingapp.backend.entity.Movie;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
 
 public interface MovieRepository extends JpaRepository<Movie, Long> {
+    
+    // Cacheable when the Hibernate query cache is on
+    @Override
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<Movie> findAll();
 }
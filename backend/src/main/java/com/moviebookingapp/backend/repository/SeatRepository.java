@@ -1,17 +1,42 @@
 package com.moviebookingapp.backend.repository;
 
+import com.moviebookingapp.backend.entity.Booking;
 import com.moviebookingapp.backend.entity.Seat;
 import com.moviebookingapp.backend.entity.Showtime;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface SeatRepository extends JpaRepository<Seat, Long> {
     
+    // Guard: the seats table holds every seat of every showtime, so unfiltered scans are
+    // rejected. Query by showtime or booking instead.
+    @Override
+    default List<Seat> findAll() {
+        throw new UnsupportedOperationException("Unfiltered findAll on seats is not allowed; query by showtime or booking");
+    }
+    
+    @Override
+    default List<Seat> findAll(Sort sort) {
+        throw new UnsupportedOperationException("Unfiltered findAll on seats is not allowed; query by showtime or booking");
+    }
+    
+    @Override
+    default Page<Seat> findAll(Pageable pageable) {
+        throw new UnsupportedOperationException("Unfiltered findAll on seats is not allowed; query by showtime or booking");
+    }
+    
     List<Seat> findByShowtimeOrderBySeatNumber(Showtime showtime);
     
+    List<Seat> findByShowtimeIdOrderBySeatNumber(Long showtimeId);
+    
     List<Seat> findByShowtimeAndIsBookedFalseOrderBySeatNumber(Showtime showtime);
     
     List<Seat> findByShowtimeAndIsBookedTrueOrderBySeatNumber(Showtime showtime);
@@ -20,4 +45,32 @@ public interface SeatRepository extends JpaRepository<Seat, Long> {
     Integer countAvailableSeats(@Param("showtime") Showtime showtime);
     
     List<Seat> findBySeatNumberInAndShowtime(List<String> seatNumbers, Showtime showtime);
+    
+    // Scalar projection (seatNumber, isBooked) used to build the in-memory seat bitmap
+    @Query("SELECT s.seatNumber, s.isBooked FROM Seat s WHERE s.showtime.id = :showtimeId")
+    List<Object[]> findSeatStatesByShowtimeId(@Param("showtimeId") Long showtimeId);
+    
+    // Conditional set-based claim: only seats that are still free are assigned to the booking
+    @Modifying
+    @Query("UPDATE Seat s SET s.isBooked = true, s.booking = :booking " +
+           "WHERE s.showtime.id = :showtimeId AND s.seatNumber IN :seatNumbers AND s.isBooked = false")
+    int claimSeats(@Param("showtimeId") Long showtimeId,
+                   @Param("seatNumbers") List<String> seatNumbers,
+                   @Param("booking") Booking booking);
+    
+    // One row per given showtime that has seats: (showtimeId, total seats, booked seats)
+    @Query("SELECT s.showtime.id, COUNT(s), SUM(CASE WHEN s.isBooked = true THEN 1 ELSE 0 END) " +
+           "FROM Seat s WHERE s.showtime.id IN :showtimeIds GROUP BY s.showtime.id")
+    List<Object[]> countSeatsPerShowtime(@Param("showtimeIds") Collection<Long> showtimeIds);
+    
+    @Query("SELECT DISTINCT s.showtime.id FROM Seat s WHERE s.showtime.id IN :showtimeIds")
+    List<Long> findMaterializedShowtimeIds(@Param("showtimeIds") Collection<Long> showtimeIds);
+    
+    @Query("SELECT s.seatNumber FROM Seat s WHERE s.booking.id = :bookingId")
+    List<String> findSeatNumbersByBookingId(@Param("bookingId") Long bookingId);
+    
+    // Frees every seat of a booking in one statement (uses idx_seats_booking_id)
+    @Modifying
+    @Query("UPDATE Seat s SET s.isBooked = false, s.booking = null WHERE s.booking.id = :bookingId")
+    int releaseSeatsByBookingId(@Param("bookingId") Long bookingId);
 }
@@ -2,13 +2,46 @@ package com.moviebookingapp.backend.repository;
 
 import com.moviebookingapp.backend.entity.Showtime;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ShowtimeRepository extends JpaRepository<Showtime, Long> {
     
-    @Query("SELECT s FROM Showtime s WHERE s.movie.id = :movieId ORDER BY s.showTime ASC")
+    // Movie and theater are fetched in the same statement instead of one select per showtime
+    @Query("SELECT s FROM Showtime s JOIN FETCH s.movie JOIN FETCH s.theater ORDER BY s.showTime ASC")
+    List<Showtime> findAllOrderByShowTime();
+    
+    @Query("SELECT s FROM Showtime s JOIN FETCH s.movie JOIN FETCH s.theater WHERE s.movie.id = :movieId ORDER BY s.showTime ASC")
     List<Showtime> findByMovieIdOrderByShowTime(@Param("movieId") Long movieId);
+    
+    List<Showtime> findByShowTimeBetweenOrderByShowTime(LocalDateTime from, LocalDateTime to);
+    
+    @Modifying
+    @Query("UPDATE Showtime s SET s.seatsBooked = s.seatsBooked + :booked, s.seatsHeld = s.seatsHeld + :held WHERE s.id = :id")
+    int adjustSeatCounters(@Param("id") Long id, @Param("booked") int booked, @Param("held") int held);
+    
+    @Modifying
+    @Query("UPDATE Showtime s SET s.seatsTotal = :total, s.seatsBooked = :booked, s.seatsHeld = :held WHERE s.id = :id")
+    int setSeatCounters(@Param("id") Long id, @Param("total") int total, @Param("booked") int booked, @Param("held") int held);
+    
+    @Modifying
+    @Query("UPDATE Showtime s SET s.seatsHeld = 0 WHERE s.seatsHeld <> 0")
+    int resetHeldCounters();
+    
+    // (id, seatsTotal, seatsBooked, seatsHeld) for every showtime starting at or after from
+    @Query("SELECT s.id, s.seatsTotal, s.seatsBooked, s.seatsHeld FROM Showtime s WHERE s.showTime >= :from")
+    List<Object[]> findSeatCountersFrom(@Param("from") LocalDateTime from);
+    
+    // (id, seatsTotal, seatsBooked, seatsHeld) of the given showtimes
+    @Query("SELECT s.id, s.seatsTotal, s.seatsBooked, s.seatsHeld FROM Showtime s WHERE s.id IN :ids")
+    List<Object[]> findSeatCountersByIds(@Param("ids") Collection<Long> ids);
+    
+    // (seatLayout, totalSeats) of the showtime's theater, without loading the entities
+    @Query("SELECT t.seatLayout, t.totalSeats FROM Showtime s JOIN s.theater t WHERE s.id = :id")
+    List<Object[]> findTheaterLayoutByShowtimeId(@Param("id") Long id);
 }
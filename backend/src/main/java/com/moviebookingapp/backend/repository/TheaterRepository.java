@@ -1,8 +1,10 @@
 package com.moviebookingapp.backend.repository;
 
 import com.moviebookingapp.backend.entity.Theater;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 
@@ -15,6 +17,15 @@ public interface TheaterRepository extends JpaRepository<Theater, Long> {
     @Query("SELECT t FROM Theater t WHERE t.isActive = true ORDER BY t.name")
     List<Theater> findActiveTheatersOrderByName();
     
+    // With their showtimes in the same query; cacheable when the Hibernate query cache is on
+    @Query("SELECT t FROM Theater t LEFT JOIN FETCH t.showtimes ORDER BY t.id")
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<Theater> findAllWithShowtimes();
+    
+    @Query("SELECT t FROM Theater t LEFT JOIN FETCH t.showtimes WHERE t.isActive = true ORDER BY t.name")
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<Theater> findActiveWithShowtimesOrderByName();
+    
     @Query("SELECT COUNT(t) FROM Theater t WHERE t.isActive = true")
     Long countActiveTheaters();
 }
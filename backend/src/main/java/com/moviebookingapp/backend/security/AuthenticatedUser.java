@@ -0,0 +1,22 @@
+package com.moviebookingapp.backend.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Principal of a JWT-authenticated request, built from the token's signed claims alone.
+ * Authentication.getName() keeps returning the username. It is deliberately not a
+ * java.security.Principal: Spring MVC resolves Principal parameters itself, ahead of
+ * CurrentUserArgumentResolver. tokenId is the access token's jti, null when the user was not
+ * authenticated by a token.
+ */
+public record AuthenticatedUser(Long id, String username, String role, String tokenId) implements AuthenticatedPrincipal {
+
+    public AuthenticatedUser(Long id, String username, String role) {
+        this(id, username, role, null);
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
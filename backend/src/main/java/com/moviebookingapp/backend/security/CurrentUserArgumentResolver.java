@@ -0,0 +1,56 @@
+package com.moviebookingapp.backend.security;
+
+import com.moviebookingapp.backend.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Lets controller methods declare an AuthenticatedUser parameter. For JWT requests it is the
+ * principal itself, built from token claims; any other authentication (e.g. test users) is
+ * resolved by username once per request. Null when nobody is logged in.
+ */
+@Component
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final String ATTRIBUTE = CurrentUserArgumentResolver.class.getName();
+
+    @Autowired
+    private UserService userService;
+
+    @Override
+    public boolean supportsParameter(@NonNull MethodParameter parameter) {
+        return AuthenticatedUser.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(@NonNull MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  @NonNull NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        if (auth.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
+        }
+        Object resolved = webRequest.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (resolved == null) {
+            resolved = userService.findByUsername(auth.getName())
+                .map(user -> new AuthenticatedUser(user.getId(), user.getUsername(), user.getRole()))
+                .orElse(null);
+            if (resolved != null) {
+                webRequest.setAttribute(ATTRIBUTE, resolved, RequestAttributes.SCOPE_REQUEST);
+            }
+        }
+        return resolved;
+    }
+}
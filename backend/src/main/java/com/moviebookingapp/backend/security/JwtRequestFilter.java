@@ -1,7 +1,6 @@
 package com.moviebookingapp.backend.security;
 
-import com.moviebookingapp.backend.service.UserService;
-
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,38 +8,71 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
 
+// Authenticates from the token's signed claims alone: no database access on the request path
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtil jwtUtil;
     @Autowired
-    private UserService userService;
+    private VerifiedTokenCache tokenCache;
+    @Autowired
+    private TokenRevocationList revocationList;
+
+    // Routes SecurityConfig permits for everyone never need the token parsed. The per-showtime
+    // seat reads are the exception: the waiting room must see the same user there as on booking,
+    // or one visitor would hold two slots and be queued again at checkout.
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (!uri.startsWith("/api/")
+                || uri.startsWith("/api/auth/")
+                || uri.startsWith("/api/admin/auth/")
+                || uri.startsWith("/api/waiting-room/showtime/")) {
+            return true;
+        }
+        if (uri.startsWith("/api/seats/showtime/")) {
+            return false;
+        }
+        return "GET".equals(request.getMethod())
+                && (uri.startsWith("/api/movies") || uri.startsWith("/api/showtimes")
+                    || uri.startsWith("/api/seats") || uri.startsWith("/api/theaters"));
+    }
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain chain)
             throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
-        String username = null;
-        String jwt = null;
 
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            jwt = authHeader.substring(7);
-            username = jwtUtil.extractUsername(jwt);
-        }
-
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userService.loadUserByUsername(username);
-            if (jwtUtil.validateToken(jwt)) {
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        if (authHeader != null && authHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String jwt = authHeader.substring(7);
+            AuthenticatedUser user = tokenCache.get(jwt);
+            if (user == null) {
+                Optional<Claims> claims = jwtUtil.parse(jwt);
+                if (claims.isPresent()) {
+                    Claims body = claims.get();
+                    user = new AuthenticatedUser(
+                            body.get(JwtUtil.CLAIM_USER_ID, Number.class).longValue(),
+                            body.getSubject(),
+                            body.get(JwtUtil.CLAIM_ROLE, String.class),
+                            body.getId());
+                    tokenCache.put(jwt, user, body.getExpiration().getTime());
+                }
+            }
+            // Checked on every request, cached or not; in memory, so still no database access
+            if (user != null && !revocationList.isRevoked(user)) {
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        user, null, List.of(new SimpleGrantedAuthority(user.role())));
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
@@ -1,37 +1,66 @@
 package com.moviebookingapp.backend.security;
 
+import com.moviebookingapp.backend.entity.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import java.security.Key;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+
     private static final String SECRET_KEY = "your-256-bit-secret-your-256-bit-secret-123456";
-    private static final long EXPIRATION_TIME = 1000 * 60 * 60 * 10; // 10 hours
     private final Key key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    // Thread-safe and immutable; built once instead of per call
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(key).build();
+
+    // Short-lived; sessions are extended with refresh tokens (RefreshTokenService)
+    @Value("${jwt.access-token-ttl-seconds:900}")
+    private long accessTokenTtlSeconds;
 
-    public String generateToken(String username) {
+    // User id and role travel as signed claims so requests can be authenticated without a lookup;
+    // the jti lets a single token be revoked
+    public String generateToken(User user) {
         return Jwts.builder()
-                .setSubject(username)
+                .setId(UUID.randomUUID().toString())
+                .setSubject(user.getUsername())
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_ROLE, user.getRole())
                 .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
+                .setExpiration(new Date(System.currentTimeMillis() + accessTokenTtlSeconds * 1000))
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    // Verifies signature and expiry once; empty if the token is invalid or lacks the user claims
+    public Optional<Claims> parse(String token) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (claims.getId() == null || claims.getSubject() == null || claims.getExpiration() == null
+                    || claims.get(CLAIM_USER_ID) == null || claims.get(CLAIM_ROLE) == null) {
+                return Optional.empty();
+            }
+            return Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    public long getAccessTokenTtlSeconds() {
+        return accessTokenTtlSeconds;
+    }
+
     public String extractUsername(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build()
-                .parseClaimsJws(token).getBody().getSubject();
+        return parser.parseClaimsJws(token).getBody().getSubject();
     }
 
     public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+        return parse(token).isPresent();
     }
 }
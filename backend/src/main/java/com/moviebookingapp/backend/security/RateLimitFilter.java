@@ -0,0 +1,169 @@
+package com.moviebookingapp.backend.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token-bucket rate limits per route class and caller (the logged-in user, else the client IP).
+ * Runs right after JwtRequestFilter so the user is known. The client IP is the one resolved from
+ * X-Forwarded-For by the servlet container (server.forward-headers-strategy=native), so callers
+ * behind the hosting proxy do not all share the proxy's address.
+ * <p>
+ * Each bucket is a single AtomicLong holding its "theoretical arrival time" (GCRA): taking a
+ * token is one CAS, and a bucket whose time has passed is simply full. That makes idle buckets
+ * safe to drop, which is how the map stays bounded; once it is full of busy callers, new callers
+ * share one overflow bucket per route class.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    enum RouteClass {
+        LOGIN, READ, WRITE
+    }
+
+    private record BucketKey(RouteClass routeClass, String caller) {
+    }
+
+    // Credential checks only; refresh and logout carry a token and count as writes
+    private static final Set<String> LOGIN_PATHS = Set.of(
+        "/api/auth/login", "/api/auth/register", "/api/admin/auth/login");
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rate-limit.max-keys:100000}")
+    private int maxKeys;
+
+    @Value("${rate-limit.login.per-second:1}")
+    private double loginPerSecond;
+
+    @Value("${rate-limit.login.burst:20}")
+    private int loginBurst;
+
+    @Value("${rate-limit.read.per-second:20}")
+    private double readPerSecond;
+
+    @Value("${rate-limit.read.burst:100}")
+    private int readBurst;
+
+    @Value("${rate-limit.write.per-second:5}")
+    private double writePerSecond;
+
+    @Value("${rate-limit.write.burst:20}")
+    private int writeBurst;
+
+    private final Map<BucketKey, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final Map<RouteClass, AtomicLong> overflow = new ConcurrentHashMap<>();
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain chain)
+            throws ServletException, IOException {
+        RouteClass routeClass = routeClass(request);
+        long waitNanos = tryAcquire(routeClass, caller(routeClass, request), System.nanoTime());
+        if (waitNanos > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L)));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Too many requests\"}");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    // Drop buckets that have refilled completely; they are indistinguishable from new ones
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    // 0 if a token was taken, otherwise how long until one is available
+    long tryAcquire(RouteClass routeClass, String caller, long now) {
+        BucketKey key = new BucketKey(routeClass, caller);
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                sweep();
+            }
+            bucket = buckets.size() < maxKeys
+                ? buckets.computeIfAbsent(key, k -> new AtomicLong(now))
+                : overflow.computeIfAbsent(routeClass, k -> new AtomicLong(now));
+        }
+
+        long interval = (long) (1_000_000_000L / perSecond(routeClass));
+        long tolerance = interval * burst(routeClass);
+        while (true) {
+            long tat = bucket.get();
+            long next = Math.max(tat, now) + interval;
+            long excess = next - now - tolerance;
+            if (excess > 0) {
+                return excess;
+            }
+            if (bucket.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private RouteClass routeClass(HttpServletRequest request) {
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)) {
+            return RouteClass.READ;
+        }
+        if (LOGIN_PATHS.contains(request.getRequestURI())) {
+            return RouteClass.LOGIN;
+        }
+        return RouteClass.WRITE;
+    }
+
+    // Login attempts are always counted per IP, so rotating usernames does not help
+    private String caller(RouteClass routeClass, HttpServletRequest request) {
+        if (routeClass != RouteClass.LOGIN) {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken)) {
+                return "u:" + auth.getName();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private double perSecond(RouteClass routeClass) {
+        return switch (routeClass) {
+            case LOGIN -> loginPerSecond;
+            case READ -> readPerSecond;
+            case WRITE -> writePerSecond;
+        };
+    }
+
+    private int burst(RouteClass routeClass) {
+        return switch (routeClass) {
+            case LOGIN -> loginBurst;
+            case READ -> readBurst;
+            case WRITE -> writeBurst;
+        };
+    }
+}
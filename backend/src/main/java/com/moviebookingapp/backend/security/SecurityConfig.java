@@ -22,6 +22,10 @@ public class SecurityConfig {
     @Lazy
     private JwtRequestFilter jwtRequestFilter;
 
+    @Autowired
+    @Lazy
+    private RateLimitFilter rateLimitFilter;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -43,11 +47,15 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.GET, "/api/showtimes/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/seats/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/theaters/**").permitAll()
+                .requestMatchers("/api/waiting-room/showtime/**").permitAll()
                 .anyRequest().authenticated()
             )
             .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
 
         http.addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class);
+        // Anchored on a built-in filter: the lazy JwtRequestFilter proxy has no registered order.
+        // Still runs after it, since that one sits before UsernamePasswordAuthenticationFilter
+        http.addFilterAfter(rateLimitFilter, UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
 }
@@ -0,0 +1,106 @@
+package com.moviebookingapp.backend.security;
+
+import com.moviebookingapp.backend.entity.RevokedToken;
+import com.moviebookingapp.backend.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked access tokens, checked on every authenticated request without touching the database.
+ * A Bloom filter answers "definitely not revoked" for almost every token; only its rare
+ * positives are confirmed against the exact in-memory set. Entries are kept until the tokens
+ * they cover expire, and the set is re-synced from revoked_tokens periodically so revocations
+ * made by other instances are picked up.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final String USER_PREFIX = "uid:";
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${jwt.revocation.bloom-bits:1048576}")
+    private int bloomBits;
+
+    @Value("${jwt.revocation.bloom-hashes:5}")
+    private int bloomHashes;
+
+    // Token id -> expiry (epoch millis)
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloom;
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    @PostConstruct
+    void start() {
+        bloom = new BloomFilter(bloomBits, bloomHashes);
+        sync();
+    }
+
+    public boolean isRevoked(AuthenticatedUser user) {
+        return isRevoked(user.tokenId()) || isRevoked(USER_PREFIX + user.id());
+    }
+
+    // Revokes one access token until it expires
+    public void revokeToken(String tokenId, Instant expiresAt) {
+        revoke(tokenId, expiresAt);
+    }
+
+    // Revokes every access token of a user issued up to now; they all expire within the access TTL
+    public void revokeUser(Long userId, Instant until) {
+        revoke(USER_PREFIX + userId, until);
+    }
+
+    @Scheduled(initialDelayString = "${jwt.revocation.sync-interval-ms:30000}",
+               fixedDelayString = "${jwt.revocation.sync-interval-ms:30000}")
+    public synchronized void sync() {
+        Instant now = Instant.now();
+        // Overlap a little so a row committed during the previous sync is not missed
+        Instant since = lastSync.minusSeconds(5);
+        for (RevokedToken token : revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(since, now)) {
+            remember(token.getTokenId(), token.getExpiresAt().toEpochMilli());
+        }
+        lastSync = now;
+
+        long nowMillis = now.toEpochMilli();
+        if (revoked.values().removeIf(expiresAt -> expiresAt <= nowMillis)) {
+            // Bloom filters cannot forget, so start a fresh one from what is left
+            BloomFilter rebuilt = new BloomFilter(bloomBits, bloomHashes);
+            revoked.keySet().forEach(rebuilt::add);
+            bloom = rebuilt;
+            // Anything revoked while rebuilding is in the map; make sure it is in the filter too
+            revoked.keySet().forEach(rebuilt::add);
+            revokedTokenRepository.deleteExpired(now);
+        }
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    private boolean isRevoked(String tokenId) {
+        return tokenId != null && bloom.mightContain(tokenId) && revoked.containsKey(tokenId);
+    }
+
+    private void revoke(String tokenId, Instant expiresAt) {
+        revokedTokenRepository.save(RevokedToken.builder()
+            .tokenId(tokenId)
+            .revokedAt(Instant.now())
+            .expiresAt(expiresAt)
+            .build());
+        remember(tokenId, expiresAt.toEpochMilli());
+    }
+
+    // Map first, then filter: a concurrent check that sees the filter bit also sees the entry
+    private void remember(String tokenId, long expiresAtMillis) {
+        revoked.merge(tokenId, expiresAtMillis, Math::max);
+        bloom.add(tokenId);
+    }
+}
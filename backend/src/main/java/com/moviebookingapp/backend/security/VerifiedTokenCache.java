@@ -0,0 +1,65 @@
+package com.moviebookingapp.backend.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tokens whose signature has already been verified, mapped to their principal until the token
+ * expires. Keyed by a SHA-256 of the token so raw bearer tokens are not kept around. When full,
+ * expired entries are swept; if that frees nothing, new tokens are simply verified uncached.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    @Value("${jwt.cache.max-entries:10000}")
+    private int maxEntries;
+
+    private record Entry(AuthenticatedUser user, long expiresAtMillis) {
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public AuthenticatedUser get(String token) {
+        String key = hash(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.user();
+    }
+
+    public void put(String token, AuthenticatedUser user, long expiresAtMillis) {
+        if (entries.size() >= maxEntries) {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+            if (entries.size() >= maxEntries) {
+                return;
+            }
+        }
+        entries.put(hash(token), new Entry(user, expiresAtMillis));
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
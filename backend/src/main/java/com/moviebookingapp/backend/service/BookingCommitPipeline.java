@@ -0,0 +1,351 @@
+package com.moviebookingapp.backend.service;
+
+import com.moviebookingapp.backend.entity.Booking;
+import com.moviebookingapp.backend.entity.SeatCode;
+import com.moviebookingapp.backend.entity.Showtime;
+import com.moviebookingapp.backend.entity.User;
+import com.moviebookingapp.backend.exception.SeatUnavailableException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit for booking claims. Claims from many requests are queued and written together:
+ * one JDBC batch of booking inserts, one batch of conditional seat updates and one batch of
+ * counter updates, all in a single transaction. A batch is flushed when it reaches maxBatch
+ * bookings or flushIntervalMs after its first booking arrived. Each caller's future completes
+ * only after the batch has committed.
+ */
+@Service
+public class BookingCommitPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingCommitPipeline.class);
+
+    private static final String INSERT_BOOKING =
+        "INSERT INTO bookings (user_id, showtime_id, num_tickets, seat_codes, booking_time) VALUES (?, ?, ?, ?, ?)";
+    private static final String CLAIM_SEAT =
+        "UPDATE seats SET is_booked = TRUE, booking_id = ? WHERE showtime_id = ? AND seat_number = ? AND is_booked = FALSE";
+    private static final String ADJUST_BOOKED =
+        "UPDATE showtimes SET seats_booked = seats_booked + ? WHERE id = ?";
+
+    private record PendingBooking(User user, Showtime showtime, List<String> seatNumbers, int[] seatCodes,
+                                  String holdId, LocalDateTime bookingTime, CompletableFuture<Booking> result) {
+    }
+
+    // Signals that the batch must be retried one booking at a time
+    private static final class BatchConflictException extends RuntimeException {
+        BatchConflictException() {
+            super("Seat conflict inside commit batch", null, false, false);
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private SeatInventory seatInventory;
+
+    @Autowired
+    private SeatCounterService seatCounterService;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Value("${booking.group-commit.enabled:false}")
+    private boolean enabled;
+
+    @Value("${booking.group-commit.flush-interval-ms:2}")
+    private long flushIntervalMs;
+
+    @Value("${booking.group-commit.max-batch:100}")
+    private int maxBatch;
+
+    @Value("${booking.group-commit.queue-capacity:10000}")
+    private int queueCapacity;
+
+    private BlockingQueue<PendingBooking> queue;
+    private Thread flusher;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+        running = true;
+        flusher = new Thread(this::run, "booking-group-commit");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CompletableFuture<Booking> submit(User user, Showtime showtime, List<String> seatNumbers) {
+        return submit(user, showtime, seatNumbers, null);
+    }
+
+    // holdId is the hold being confirmed; it stays in place if the claim fails
+    public CompletableFuture<Booking> submit(User user, Showtime showtime, List<String> seatNumbers, String holdId) {
+        CompletableFuture<Booking> result = new CompletableFuture<>();
+        int[] seatCodes;
+        try {
+            seatCodes = SeatCode.parseAll(seatNumbers);
+        } catch (IllegalArgumentException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+        if (BookingService.hasDuplicates(seatCodes)) {
+            result.completeExceptionally(new IllegalArgumentException("Duplicate seats selected"));
+            return result;
+        }
+        PendingBooking pending = new PendingBooking(user, showtime, List.copyOf(seatNumbers), seatCodes,
+            holdId, LocalDateTime.now(), result);
+        if (!queue.offer(pending)) {
+            result.completeExceptionally(new IllegalStateException("Booking queue is full, please retry"));
+        }
+        return result;
+    }
+
+    private void run() {
+        List<PendingBooking> batch = new ArrayList<>(maxBatch);
+        while (running) {
+            try {
+                PendingBooking first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingBooking next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Group commit flush failed", e);
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+        // Anything still queued at shutdown is failed, never silently dropped
+        PendingBooking pending;
+        while (queue != null && (pending = queue.poll()) != null) {
+            pending.result().completeExceptionally(new IllegalStateException("Booking pipeline stopped"));
+        }
+    }
+
+    private void flush(List<PendingBooking> batch) {
+        // Two bookings in one batch asking for the same seat: the later one loses up front
+        Set<Long> seatKeys = new HashSet<>();
+        List<PendingBooking> accepted = new ArrayList<>(batch.size());
+        List<SeatHoldService.ClaimReservation> reservations = new ArrayList<>(batch.size());
+        for (PendingBooking pending : batch) {
+            List<String> lost = new ArrayList<>();
+            for (int seatCode : pending.seatCodes()) {
+                if (seatKeys.contains(seatKey(pending.showtime().getId(), seatCode))) {
+                    lost.add(SeatCode.format(seatCode));
+                }
+            }
+            if (!lost.isEmpty()) {
+                pending.result().completeExceptionally(new SeatUnavailableException(lost));
+                continue;
+            }
+            // Seats held by someone else (or the hold being confirmed) are refused here, like on
+            // every other claim path
+            try {
+                reservations.add(seatHoldService.reserveForClaim(
+                    pending.showtime().getId(), pending.seatNumbers(), pending.holdId()));
+            } catch (SeatUnavailableException e) {
+                pending.result().completeExceptionally(e);
+                continue;
+            }
+            for (int seatCode : pending.seatCodes()) {
+                seatKeys.add(seatKey(pending.showtime().getId(), seatCode));
+            }
+            accepted.add(pending);
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        long[] bookingIds;
+        try {
+            bookingIds = transactionTemplate.execute(status ->
+                jdbcTemplate.execute((ConnectionCallback<long[]>) connection -> writeBatch(connection, accepted)));
+        } catch (BatchConflictException e) {
+            // A seat was taken outside this batch; retry each booking alone so only the loser fails.
+            // The replay reserves the seats again, so ours go first
+            reservations.forEach(reservation -> seatHoldService.finishClaim(reservation, false));
+            for (PendingBooking pending : accepted) {
+                try {
+                    pending.result().complete(bookingService.createBooking(
+                        pending.user(), pending.showtime(), pending.seatNumbers(), pending.holdId()));
+                } catch (RuntimeException individual) {
+                    pending.result().completeExceptionally(individual);
+                }
+            }
+            return;
+        } catch (RuntimeException e) {
+            reservations.forEach(reservation -> seatHoldService.finishClaim(reservation, false));
+            throw e;
+        }
+
+        // Durable: update in-memory state first, then release the waiting requests
+        for (PendingBooking pending : accepted) {
+            seatInventory.markBooked(pending.showtime().getId(), pending.seatCodes());
+        }
+        reservations.forEach(reservation -> seatHoldService.finishClaim(reservation, true));
+        for (int i = 0; i < accepted.size(); i++) {
+            PendingBooking pending = accepted.get(i);
+            pending.result().complete(Booking.builder()
+                    .id(bookingIds[i])
+                    .user(pending.user())
+                    .showtime(pending.showtime())
+                    .numTickets(pending.seatNumbers().size())
+                    .seatCodes(pending.seatCodes())
+                    .bookingTime(pending.bookingTime())
+                    .build());
+        }
+    }
+
+    private static int countClaimedSeats(Connection connection, long[] bookingIds) throws SQLException {
+        String placeholders = String.join(", ", Collections.nCopies(bookingIds.length, "?"));
+        try (PreparedStatement count = connection.prepareStatement(
+                "SELECT COUNT(*) FROM seats WHERE booking_id IN (" + placeholders + ")")) {
+            for (int i = 0; i < bookingIds.length; i++) {
+                count.setLong(i + 1, bookingIds[i]);
+            }
+            try (ResultSet rows = count.executeQuery()) {
+                rows.next();
+                return rows.getInt(1);
+            }
+        }
+    }
+
+    private static int seatCount(List<PendingBooking> batch) {
+        int seats = 0;
+        for (PendingBooking pending : batch) {
+            seats += pending.seatNumbers().size();
+        }
+        return seats;
+    }
+
+    // Showtime id and packed seat in one long, so the in-batch conflict check allocates no strings
+    private static long seatKey(Long showtimeId, int seatCode) {
+        return showtimeId << 16 | seatCode;
+    }
+
+    private long[] writeBatch(Connection connection, List<PendingBooking> batch) throws SQLException {
+        long[] bookingIds = new long[batch.size()];
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_BOOKING, new String[] { "id" })) {
+            for (PendingBooking pending : batch) {
+                insert.setLong(1, pending.user().getId());
+                insert.setLong(2, pending.showtime().getId());
+                insert.setInt(3, pending.seatNumbers().size());
+                insert.setBytes(4, SeatCode.toBytes(pending.seatCodes()));
+                insert.setTimestamp(5, Timestamp.valueOf(pending.bookingTime()));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+            try (ResultSet keys = insert.getGeneratedKeys()) {
+                int i = 0;
+                while (keys.next() && i < bookingIds.length) {
+                    bookingIds[i++] = keys.getLong(1);
+                }
+                if (i != bookingIds.length) {
+                    throw new IllegalStateException("Driver returned " + i + " booking ids for " + bookingIds.length + " inserts");
+                }
+            }
+        }
+
+        try (PreparedStatement claim = connection.prepareStatement(CLAIM_SEAT)) {
+            for (int i = 0; i < batch.size(); i++) {
+                PendingBooking pending = batch.get(i);
+                for (String seatNumber : pending.seatNumbers()) {
+                    claim.setLong(1, bookingIds[i]);
+                    claim.setLong(2, pending.showtime().getId());
+                    claim.setString(3, seatNumber);
+                    claim.addBatch();
+                }
+            }
+            boolean unknown = false;
+            for (int count : claim.executeBatch()) {
+                if (count == Statement.SUCCESS_NO_INFO) {
+                    unknown = true;
+                } else if (count != 1) {
+                    throw new BatchConflictException();
+                }
+            }
+            // Some drivers do not report per-statement counts; then count what we actually won
+            if (unknown && countClaimedSeats(connection, bookingIds) != seatCount(batch)) {
+                throw new BatchConflictException();
+            }
+        }
+
+        Map<Long, Integer> bookedPerShowtime = new HashMap<>();
+        for (PendingBooking pending : batch) {
+            bookedPerShowtime.merge(pending.showtime().getId(), pending.seatNumbers().size(), Integer::sum);
+        }
+        try (PreparedStatement adjust = connection.prepareStatement(ADJUST_BOOKED)) {
+            for (Map.Entry<Long, Integer> entry : bookedPerShowtime.entrySet()) {
+                adjust.setInt(1, entry.getValue());
+                adjust.setLong(2, entry.getKey());
+                adjust.addBatch();
+            }
+            adjust.executeBatch();
+        }
+        bookedPerShowtime.forEach((showtimeId, booked) -> seatCounterService.applyOnCommit(showtimeId, booked, 0));
+        return bookingIds;
+    }
+}
@@ -0,0 +1,254 @@
+package com.moviebookingapp.backend.service;
+
+import com.moviebookingapp.backend.entity.Booking;
+import com.moviebookingapp.backend.entity.Showtime;
+import com.moviebookingapp.backend.entity.User;
+import com.moviebookingapp.backend.exception.SeatUnavailableException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Entry point for booking writes. In "direct" mode every request runs its own claim
+ * transaction. In "actor" mode claims and cancellations for a showtime go through that
+ * showtime's single-writer actor, which decides a whole batch against the in-memory seat map
+ * and persists it in one transaction. With group commit enabled, claims are persisted by
+ * BookingCommitPipeline together with claims from other requests and showtimes.
+ */
+@Service
+public class BookingCoordinator {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private SeatInventory seatInventory;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BookingCommitPipeline commitPipeline;
+
+    @Value("${booking.execution-mode:direct}")
+    private String executionMode;
+
+    @Value("${booking.actor.threads:4}")
+    private int actorThreads;
+
+    @Value("${booking.actor.max-batch:64}")
+    private int maxBatch;
+
+    @Value("${booking.actor.timeout-ms:10000}")
+    private long timeoutMillis;
+
+    private final Map<Long, ShowtimeBookingActor> actors = new ConcurrentHashMap<>();
+
+    // Seats an actor has handed to the commit pipeline but that are not committed yet
+    private final Map<Long, Set<String>> uncommittedSeats = new ConcurrentHashMap<>();
+    private ExecutorService actorPool;
+
+    @PostConstruct
+    void start() {
+        if (isActorMode()) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            actorPool = Executors.newFixedThreadPool(actorThreads, r -> {
+                Thread thread = new Thread(r, "booking-actor-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (actorPool != null) {
+            actorPool.shutdown();
+        }
+    }
+
+    public boolean isActorMode() {
+        return "actor".equalsIgnoreCase(executionMode);
+    }
+
+    public Booking createBooking(User user, Showtime showtime, List<String> seatNumbers) {
+        return createBooking(user, showtime, seatNumbers, null);
+    }
+
+    // holdId is the hold being confirmed; it stays in place if the claim fails
+    public Booking createBooking(User user, Showtime showtime, List<String> seatNumbers, String holdId) {
+        if (!isActorMode()) {
+            if (commitPipeline.isEnabled()) {
+                return await(commitPipeline.submit(user, showtime, seatNumbers, holdId));
+            }
+            return bookingService.createBooking(user, showtime, seatNumbers, holdId);
+        }
+        CompletableFuture<Booking> result = new CompletableFuture<>();
+        submit(showtime.getId(), new ShowtimeBookingActor.Claim(user, showtime, seatNumbers, holdId, result));
+        return await(result);
+    }
+
+    public List<String> cancelBooking(Booking booking) {
+        if (!isActorMode()) {
+            return bookingService.cancelBooking(booking);
+        }
+        CompletableFuture<List<String>> result = new CompletableFuture<>();
+        submit(booking.getShowtime().getId(), new ShowtimeBookingActor.Cancel(booking, result));
+        return await(result);
+    }
+
+    private void submit(Long showtimeId, ShowtimeBookingActor.Command command) {
+        while (true) {
+            ShowtimeBookingActor actor = actors.computeIfAbsent(showtimeId, this::newActor);
+            if (actor.submit(command)) {
+                return;
+            }
+            // Retired between the lookup and the submit; make way for a fresh one
+            actors.remove(showtimeId, actor);
+        }
+    }
+
+    private ShowtimeBookingActor newActor(Long showtimeId) {
+        ShowtimeBookingActor[] self = new ShowtimeBookingActor[1];
+        self[0] = new ShowtimeBookingActor(actorPool, maxBatch, batch -> processBatch(showtimeId, batch),
+            () -> retire(showtimeId, self[0]));
+        return self[0];
+    }
+
+    // Idle actors are dropped so the map only holds showtimes with bookings in flight
+    private void retire(Long showtimeId, ShowtimeBookingActor actor) {
+        if (actor.tryRetire()) {
+            // No batch can run for the showtime until a new actor is mapped, so this cannot race
+            uncommittedSeats.computeIfPresent(showtimeId, (id, seats) -> seats.isEmpty() ? null : seats);
+            actors.remove(showtimeId, actor);
+        }
+    }
+
+    // Runs on the actor's thread only, never concurrently for the same showtime
+    private void processBatch(Long showtimeId, List<ShowtimeBookingActor.Command> batch) {
+        SeatMap seatMap = seatInventory.get(showtimeId);
+        Set<String> uncommitted = uncommittedSeats.computeIfAbsent(showtimeId, id -> ConcurrentHashMap.newKeySet());
+        Set<String> claimedInBatch = new HashSet<>();
+        List<ShowtimeBookingActor.Command> accepted = new ArrayList<>(batch.size());
+
+        for (ShowtimeBookingActor.Command command : batch) {
+            if (command instanceof ShowtimeBookingActor.Claim claim) {
+                List<String> lost = new ArrayList<>();
+                for (String seatNumber : claim.seatNumbers()) {
+                    if (!seatMap.isAvailable(seatNumber) || claimedInBatch.contains(seatNumber)
+                            || uncommitted.contains(seatNumber)) {
+                        lost.add(seatNumber);
+                    }
+                }
+                if (lost.isEmpty() && seatHoldService.isAnyHeld(showtimeId, claim.seatNumbers(), claim.holdId())) {
+                    lost.addAll(claim.seatNumbers());
+                }
+                if (!lost.isEmpty()) {
+                    claim.fail(new SeatUnavailableException(lost));
+                    continue;
+                }
+                claimedInBatch.addAll(claim.seatNumbers());
+                if (commitPipeline.isEnabled()) {
+                    handOff(claim, uncommitted);
+                    continue;
+                }
+            }
+            accepted.add(command);
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        List<Object> results;
+        try {
+            results = transactionTemplate.execute(status -> {
+                List<Object> batchResults = new ArrayList<>(accepted.size());
+                for (ShowtimeBookingActor.Command command : accepted) {
+                    batchResults.add(apply(command));
+                }
+                return batchResults;
+            });
+        } catch (RuntimeException e) {
+            // Something in the batch was rejected by the database (e.g. a seat taken through
+            // another path); replay each command in its own transaction so only it fails
+            for (ShowtimeBookingActor.Command command : accepted) {
+                try {
+                    complete(command, apply(command));
+                } catch (RuntimeException individual) {
+                    command.fail(individual);
+                }
+            }
+            return;
+        }
+        for (int i = 0; i < accepted.size(); i++) {
+            complete(accepted.get(i), results.get(i));
+        }
+    }
+
+    // The pipeline marks the seat map after commit, before the future completes, so the
+    // seats can leave the uncommitted set as soon as the future is done
+    private void handOff(ShowtimeBookingActor.Claim claim, Set<String> uncommitted) {
+        uncommitted.addAll(claim.seatNumbers());
+        commitPipeline.submit(claim.user(), claim.showtime(), claim.seatNumbers(), claim.holdId())
+            .whenComplete((booking, error) -> {
+                claim.seatNumbers().forEach(uncommitted::remove);
+                if (error != null) {
+                    claim.fail(error);
+                } else {
+                    claim.result().complete(booking);
+                }
+            });
+    }
+
+    private Object apply(ShowtimeBookingActor.Command command) {
+        if (command instanceof ShowtimeBookingActor.Claim claim) {
+            return bookingService.createBooking(claim.user(), claim.showtime(), claim.seatNumbers(), claim.holdId());
+        }
+        return bookingService.cancelBooking(((ShowtimeBookingActor.Cancel) command).booking());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void complete(ShowtimeBookingActor.Command command, Object result) {
+        if (command instanceof ShowtimeBookingActor.Claim claim) {
+            claim.result().complete((Booking) result);
+        } else {
+            ((ShowtimeBookingActor.Cancel) command).result().complete((List<String>) result);
+        }
+    }
+
+    private <T> T await(CompletableFuture<T> result) {
+        try {
+            return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Booking request timed out");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Booking request interrupted");
+        }
+    }
+}
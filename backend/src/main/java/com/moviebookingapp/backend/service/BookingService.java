@@ -1,10 +1,15 @@
 package com.moviebookingapp.backend.service;
 
 import com.moviebookingapp.backend.entity.Booking;
+import com.moviebookingapp.backend.entity.SeatCode;
+import com.moviebookingapp.backend.entity.Showtime;
 import com.moviebookingapp.backend.entity.User;
 import com.moviebookingapp.backend.repository.BookingRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +17,9 @@ import java.util.Optional;
 public class BookingService {
     @Autowired
     private BookingRepository bookingRepository;
+    
+    @Autowired
+    private SeatService seatService;
 
     public List<Booking> findAll() {
         return bookingRepository.findAll();
@@ -25,11 +33,63 @@ public class BookingService {
         return bookingRepository.save(booking);
     }
     
+    // Inserts the booking and claims its seats in one unit of work: either every seat
+    // is booked for this booking, or nothing is written and SeatUnavailableException
+    // names the seats that were lost.
+    @Transactional
+    public Booking createBooking(User user, Showtime showtime, List<String> seatNumbers) {
+        return createBooking(user, showtime, seatNumbers, null);
+    }
+
+    // Same, confirming holdId: its seats are only given up once the booking has committed
+    @Transactional
+    public Booking createBooking(User user, Showtime showtime, List<String> seatNumbers, String holdId) {
+        // Parsed once here; from now on the seats travel as packed codes
+        int[] seatCodes = SeatCode.parseAll(seatNumbers);
+        if (hasDuplicates(seatCodes)) {
+            throw new IllegalArgumentException("Duplicate seats selected");
+        }
+        
+        Booking booking = bookingRepository.save(Booking.builder()
+                .user(user)
+                .showtime(showtime)
+                .numTickets(seatCodes.length)
+                .seatCodes(seatCodes)
+                .bookingTime(LocalDateTime.now())
+                .build());
+        
+        seatService.claimSeats(seatNumbers, showtime, booking, holdId);
+        return booking;
+    }
+    
+    // Releases the booking's seats and deletes it in one transaction; returns the freed seats
+    @Transactional
+    public List<String> cancelBooking(Booking booking) {
+        List<String> freed = seatService.releaseSeats(booking);
+        bookingRepository.deleteBookingById(booking.getId());
+        return freed;
+    }
+    
     public List<Booking> findByUser(User user) {
         return bookingRepository.findByUserOrderByBookingTimeDesc(user);
     }
     
+    public List<Booking> findByUserId(Long userId) {
+        return bookingRepository.findByUserIdOrderByBookingTimeDesc(userId);
+    }
+    
     public void deleteById(Long id) {
         bookingRepository.deleteById(id);
     }
+    
+    static boolean hasDuplicates(int[] seatCodes) {
+        int[] sorted = seatCodes.clone();
+        Arrays.sort(sorted);
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] == sorted[i - 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
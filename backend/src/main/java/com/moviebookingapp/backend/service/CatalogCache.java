@@ -0,0 +1,141 @@
+package com.moviebookingapp.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for the public catalog lists (movies, theaters, showtimes), which only
+ * change when an admin edits them. Each key has at most one load in flight; concurrent misses
+ * wait for it rather than all querying the database. Entries expire ttlSeconds after loading.
+ * Once an entry is past refreshAhead of its TTL, the next reader reloads it while everyone else
+ * is still served the current list, so a busy key is refreshed before it ever expires.
+ * <p>
+ * Admin writes call invalidateAll. A load or refresh that raced with an invalidation is handed
+ * to its waiters but not kept. With catalog.cache.backend=hibernate this cache is bypassed and
+ * Hibernate's second-level cache on Movie and Theater is used instead.
+ */
+@Component
+public class CatalogCache {
+
+    public static final String MOVIES = "movies:all";
+    public static final String THEATERS = "theaters:all";
+    public static final String ACTIVE_THEATERS = "theaters:active";
+    public static final String SHOWTIMES = "showtimes:all";
+
+    @Value("${catalog.cache.backend:memory}")
+    private String backend;
+
+    @Value("${catalog.cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${catalog.cache.refresh-ahead:0.8}")
+    private double refreshAhead;
+
+    @Value("${catalog.cache.max-entries:100}")
+    private int maxEntries;
+
+    private static final class Entry {
+        private final CompletableFuture<List<?>> value = new CompletableFuture<>();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        // Never while loading
+        private volatile long refreshAtMillis = Long.MAX_VALUE;
+        private volatile long expiresAtMillis = Long.MAX_VALUE;
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    // The returned list is shared and unmodifiable
+    @SuppressWarnings("unchecked")
+    public <T> List<T> get(String key, Supplier<List<T>> loader) {
+        if (!"memory".equals(backend)) {
+            return loader.get();
+        }
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAtMillis <= now) {
+            entries.remove(key, entry);
+            entry = null;
+        }
+        if (entry == null) {
+            Entry created = new Entry();
+            entry = entries.putIfAbsent(key, created);
+            if (entry == null) {
+                return load(key, created, loader);
+            }
+        }
+        if (entry.value.isDone() && entry.refreshAtMillis <= now && entry.refreshing.compareAndSet(false, true)) {
+            return refresh(key, entry, loader);
+        }
+        return (List<T>) await(entry);
+    }
+
+    public void invalidate(String key) {
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    private <T> List<T> load(String key, Entry entry, Supplier<List<T>> loader) {
+        try {
+            List<T> loaded = List.copyOf(loader.get());
+            long now = System.currentTimeMillis();
+            long ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+            entry.refreshAtMillis = now + (long) (ttlMillis * refreshAhead);
+            entry.expiresAtMillis = now + ttlMillis;
+            entry.value.complete(loaded);
+            evictIfFull();
+            return loaded;
+        } catch (RuntimeException | Error e) {
+            // Nothing to keep; the next reader loads again
+            entries.remove(key, entry);
+            entry.value.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // Only swapped in if the old entry was not invalidated meanwhile; on failure the old list is served
+    @SuppressWarnings("unchecked")
+    private <T> List<T> refresh(String key, Entry stale, Supplier<List<T>> loader) {
+        Entry fresh = new Entry();
+        try {
+            List<T> loaded = load(key, fresh, loader);
+            entries.replace(key, stale, fresh);
+            return loaded;
+        } catch (RuntimeException e) {
+            stale.refreshing.set(false);
+            return (List<T>) await(stale);
+        }
+    }
+
+    // Past maxEntries, the entries closest to expiry go first
+    private void evictIfFull() {
+        while (entries.size() > Math.max(1, maxEntries)) {
+            entries.entrySet().stream()
+                .min(Comparator.comparingLong(e -> e.getValue().expiresAtMillis))
+                .ifPresent(eldest -> entries.remove(eldest.getKey(), eldest.getValue()));
+        }
+    }
+
+    private static List<?> await(Entry entry) {
+        try {
+            return entry.value.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.moviebookingapp.backend.service;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel: timeouts are hashed into a ring of buckets by deadline tick, so
+ * scheduling, cancelling and expiring a timeout are all O(1) regardless of how many are pending.
+ * The owner calls {@link #advance(long, Consumer)} periodically from a single thread.
+ */
+public final class HashedTimingWheel<T> {
+
+    public static final class Timeout<T> {
+        private final T task;
+        private final long deadlineTick;
+        private volatile boolean cancelled;
+
+        private Timeout(T task, long deadlineTick) {
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T getTask() {
+            return task;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    private final long tickMillis;
+    private final int mask;
+    private final ConcurrentLinkedQueue<Timeout<T>>[] buckets;
+    private final long startMillis;
+    private volatile long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of two: " + wheelSize);
+        }
+        this.tickMillis = tickMillis;
+        this.mask = wheelSize - 1;
+        this.buckets = new ConcurrentLinkedQueue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.startMillis = startMillis;
+    }
+
+    public Timeout<T> schedule(T task, long deadlineMillis) {
+        // Never land in a bucket the reaper has already passed for this rotation
+        long deadlineTick = Math.max((deadlineMillis - startMillis + tickMillis - 1) / tickMillis, currentTick + 1);
+        Timeout<T> timeout = new Timeout<>(task, deadlineTick);
+        buckets[(int) (deadlineTick & mask)].add(timeout);
+        return timeout;
+    }
+
+    // Expires every timeout whose deadline tick is at or before nowMillis
+    public void advance(long nowMillis, Consumer<T> onExpire) {
+        long targetTick = (nowMillis - startMillis) / tickMillis;
+        while (currentTick < targetTick) {
+            long tick = currentTick + 1;
+            Iterator<Timeout<T>> it = buckets[(int) (tick & mask)].iterator();
+            while (it.hasNext()) {
+                Timeout<T> timeout = it.next();
+                if (timeout.cancelled) {
+                    it.remove();
+                } else if (timeout.deadlineTick <= tick) {
+                    it.remove();
+                    onExpire.accept(timeout.task);
+                }
+                // Otherwise the deadline is one or more rotations away; leave it in place
+            }
+            currentTick = tick;
+        }
+    }
+
+    public int pending() {
+        int count = 0;
+        for (ConcurrentLinkedQueue<Timeout<T>> bucket : buckets) {
+            count += bucket.size();
+        }
+        return count;
+    }
+}
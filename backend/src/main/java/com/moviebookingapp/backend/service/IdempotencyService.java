@@ -0,0 +1,143 @@
+package com.moviebookingapp.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key support for non-idempotent POSTs. The first request with a key runs; retries
+ * with the same key get its response replayed, and retries that arrive while it is still
+ * running wait for it. Keys are scoped per user. Entries live in a bounded in-memory map and
+ * expire ttlSeconds after they complete; 5xx responses and exceptions are not kept, so a retry
+ * after a server-side failure runs the request again.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    @Value("${booking.idempotency.ttl-seconds:86400}")
+    private long ttlSeconds;
+
+    @Value("${booking.idempotency.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${booking.idempotency.wait-ms:30000}")
+    private long waitMs;
+
+    private static final class Entry {
+        private final Object fingerprint;
+        private final CompletableFuture<ResponseEntity<?>> response = new CompletableFuture<>();
+        private volatile long expiresAtMillis = Long.MAX_VALUE; // Never while in flight
+
+        Entry(Object fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    // Insertion-ordered, so the oldest entries are evicted first; guarded by its own monitor
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    /**
+     * @param scope       who the key belongs to (e.g. the username)
+     * @param key         client-supplied Idempotency-Key
+     * @param fingerprint the request payload; a key reused with a different payload is rejected
+     * @param action      produces the response the first time
+     */
+    public ResponseEntity<?> execute(String scope, String key, Object fingerprint, Supplier<ResponseEntity<?>> action) {
+        String id = scope + ":" + key;
+        Entry entry;
+        boolean owner = false;
+        synchronized (entries) {
+            long now = System.currentTimeMillis();
+            evictExpired(now);
+            entry = entries.get(id);
+            if (entry == null || entry.expiresAtMillis <= now) {
+                entry = new Entry(fingerprint);
+                entries.put(id, entry);
+                owner = true;
+            }
+        }
+
+        if (!owner) {
+            if (!Objects.equals(entry.fingerprint, fingerprint)) {
+                return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                    .body(Map.of("error", "Idempotency-Key was already used with a different request"));
+            }
+            return replay(entry);
+        }
+
+        try {
+            ResponseEntity<?> response = action.get();
+            if (response.getStatusCode().is5xxServerError()) {
+                forget(id, entry);
+            } else {
+                entry.expiresAtMillis = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(ttlSeconds);
+            }
+            // Requests waiting on this key get the response either way
+            entry.response.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            // Nothing reliable to replay; let the next retry run the request again
+            forget(id, entry);
+            entry.response.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void forget(String id, Entry entry) {
+        synchronized (entries) {
+            entries.remove(id, entry);
+        }
+    }
+
+    private ResponseEntity<?> replay(Entry entry) {
+        try {
+            ResponseEntity<?> original = entry.response.get(waitMs, TimeUnit.MILLISECONDS);
+            return ResponseEntity.status(original.getStatusCode())
+                .headers(original.getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body(original.getBody());
+        } catch (TimeoutException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", "A request with this Idempotency-Key is still in progress"));
+        } catch (ExecutionException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "The original request failed, please retry"));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of("error", "Interrupted while waiting for the original request"));
+        }
+    }
+
+    // Expired entries are dropped from the old end; past maxEntries the oldest go regardless
+    private void evictExpired(long now) {
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry oldest = it.next();
+            if (oldest.expiresAtMillis <= now || entries.size() >= maxEntries) {
+                it.remove();
+            } else {
+                break;
+            }
+        }
+    }
+}
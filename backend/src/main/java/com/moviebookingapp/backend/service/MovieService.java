@@ -11,9 +11,12 @@ import java.util.Optional;
 public class MovieService {
     @Autowired
     private MovieRepository movieRepository;
+    
+    @Autowired
+    private CatalogCache catalogCache;
 
     public List<Movie> findAll() {
-        return movieRepository.findAll();
+        return catalogCache.get(CatalogCache.MOVIES, movieRepository::findAll);
     }
 
     public Optional<Movie> findById(Long id) {
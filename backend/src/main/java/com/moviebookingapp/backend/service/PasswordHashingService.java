@@ -0,0 +1,141 @@
+package com.moviebookingapp.backend.service;
+
+import com.moviebookingapp.backend.exception.PasswordHashingBusyException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * BCrypt hashing and verification on a small dedicated pool, so a burst of logins or sign-ups
+ * cannot take the CPU from request threads serving everything else. The pool has a bounded
+ * queue; when it is full callers get PasswordHashingBusyException at once instead of waiting.
+ * <p>
+ * The BCrypt strength is password.bcrypt.strength if set, otherwise calibrated at startup to the
+ * highest strength (never below min-strength) whose hash takes at most target-ms on this machine.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    @Value("${password.hashing.threads:2}")
+    private int threads;
+
+    @Value("${password.hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${password.hashing.timeout-ms:5000}")
+    private long timeoutMs;
+
+    @Value("${password.bcrypt.strength:0}")
+    private int configuredStrength;
+
+    @Value("${password.bcrypt.min-strength:10}")
+    private int minStrength;
+
+    @Value("${password.bcrypt.target-ms:250}")
+    private long targetMs;
+
+    private ThreadPoolExecutor executor;
+    private BCryptPasswordEncoder encoder;
+    private int strength;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), r -> {
+                Thread thread = new Thread(r, "password-hasher-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+        strength = configuredStrength > 0 ? configuredStrength : calibrate();
+        encoder = new BCryptPasswordEncoder(strength);
+        log.info("Password hashing: BCrypt strength {}, {} threads, queue {}", strength, threads, queueCapacity);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    public String hash(String rawPassword) {
+        return call(() -> encoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return false;
+        }
+        return call(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    // Hashes stored at a lower strength than the current one should be replaced after a login
+    public boolean needsUpgrade(String encodedPassword) {
+        return encodedPassword != null && encoder.upgradeEncoding(encodedPassword);
+    }
+
+    // Fire-and-forget re-hash; silently skipped when the pool is busy, the next login retries
+    public void hashInBackground(String rawPassword, Consumer<String> onHashed) {
+        try {
+            executor.execute(() -> onHashed.accept(encoder.encode(rawPassword)));
+        } catch (RejectedExecutionException e) {
+            log.debug("Skipping password re-hash, hashing pool is busy");
+        }
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    private <T> T call(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingBusyException();
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new PasswordHashingBusyException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new PasswordHashingBusyException();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    // Each strength step doubles the cost, so one timed hash at minStrength is enough
+    private int calibrate() {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        probe.encode("warm-up");
+        long start = System.nanoTime();
+        probe.encode("calibration");
+        long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        int strength = minStrength;
+        while (strength < 31 && elapsedMs * 2 <= targetMs) {
+            strength++;
+            elapsedMs *= 2;
+        }
+        return strength;
+    }
+}
@@ -0,0 +1,132 @@
+package com.moviebookingapp.backend.service;
+
+import com.moviebookingapp.backend.entity.RefreshToken;
+import com.moviebookingapp.backend.entity.User;
+import com.moviebookingapp.backend.repository.RefreshTokenRepository;
+import com.moviebookingapp.backend.security.JwtUtil;
+import com.moviebookingapp.backend.security.TokenRevocationList;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Login sessions: a short-lived access token plus a refresh token that is rotated on every use.
+ * Presenting a refresh token that was already rotated means it leaked, so the whole session
+ * (token family) is revoked. Deleting a user drops their refresh tokens and revokes their
+ * access tokens in TokenRevocationList.
+ */
+@Service
+public class RefreshTokenService {
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TokenRevocationList revocationList;
+
+    @Value("${jwt.refresh-token-ttl-seconds:1209600}")
+    private long refreshTokenTtlSeconds;
+
+    private final SecureRandom random = new SecureRandom();
+
+    public record IssuedTokens(String accessToken, String refreshToken, long expiresIn) {
+    }
+
+    // New session after a successful login
+    public IssuedTokens issue(User user) {
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    // Empty if the token is unknown, expired, already used (the session is then revoked) or its user is gone
+    @Transactional
+    public Optional<IssuedTokens> rotate(String refreshToken) {
+        if (refreshToken == null) {
+            return Optional.empty();
+        }
+        Optional<RefreshToken> storedOpt = refreshTokenRepository.findByTokenHash(hash(refreshToken));
+        if (storedOpt.isEmpty() || storedOpt.get().getExpiresAt().isBefore(Instant.now())) {
+            return Optional.empty();
+        }
+        RefreshToken stored = storedOpt.get();
+        if (stored.getUsed() || refreshTokenRepository.markUsed(stored.getId()) == 0) {
+            refreshTokenRepository.revokeFamily(stored.getFamilyId());
+            return Optional.empty();
+        }
+        Optional<User> user = userService.findById(stored.getUserId());
+        if (user.isEmpty()) {
+            refreshTokenRepository.revokeFamily(stored.getFamilyId());
+            return Optional.empty();
+        }
+        return Optional.of(issue(user.get(), stored.getFamilyId()));
+    }
+
+    // Logout: ends the refresh token's session and, if given, revokes the access token right away
+    public void logout(String refreshToken, String accessToken) {
+        if (refreshToken != null) {
+            refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .ifPresent(stored -> refreshTokenRepository.revokeFamily(stored.getFamilyId()));
+        }
+        if (accessToken != null) {
+            jwtUtil.parse(accessToken).ifPresent(this::revokeAccessToken);
+        }
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.deleted() && event.userId() != null) {
+            refreshTokenRepository.deleteByUserId(event.userId());
+            revocationList.revokeUser(event.userId(), Instant.now().plusSeconds(jwtUtil.getAccessTokenTtlSeconds()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh-token-cleanup-interval-ms:3600000}")
+    public void deleteExpired() {
+        refreshTokenRepository.deleteExpired(Instant.now());
+    }
+
+    private void revokeAccessToken(Claims claims) {
+        revocationList.revokeToken(claims.getId(), claims.getExpiration().toInstant());
+    }
+
+    private IssuedTokens issue(User user, String familyId) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(RefreshToken.builder()
+            .tokenHash(hash(refreshToken))
+            .familyId(familyId)
+            .userId(user.getId())
+            .expiresAt(Instant.now().plusSeconds(refreshTokenTtlSeconds))
+            .build());
+        return new IssuedTokens(jwtUtil.generateToken(user), refreshToken, jwtUtil.getAccessTokenTtlSeconds());
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.moviebookingapp.backend.service;
+
+/**
+ * Finds the best block of N adjacent free seats in one row, working directly on the row
+ * bitmaps of a SeatMap. Runs of free seats are found with shift-and-AND over whole 64-bit
+ * words (log2(N) steps per row), so cost depends on words per row, not on seats.
+ * Blocks are scored by distance from the row centre and from the preferred row.
+ */
+public final class SeatBlockFinder {
+
+    public record Block(int row, int firstColumn, int count) {
+    }
+
+    // Rows from the front (row A) at which the viewing distance is considered ideal
+    private static final double PREFERRED_ROW_FRACTION = 2.0 / 3.0;
+    // How much one row away from the preferred row costs compared to one seat off-centre
+    private static final double ROW_WEIGHT = 1.5;
+
+    private SeatBlockFinder() {
+    }
+
+    /**
+     * @param free    row-major free-seat bitmap, wordsPerRow words per row
+     * @param rows    number of rows
+     * @param columns physical columns per row, gaps included (gap bits are never free)
+     * @param count   block size
+     * @return the best block, or null if no row has count adjacent free seats
+     */
+    public static Block findBest(long[] free, int rows, int columns, int count) {
+        if (count <= 0 || count > columns || rows == 0) {
+            return null;
+        }
+        int wordsPerRow = (columns + 63) >>> 6;
+        long[] run = new long[wordsPerRow];
+        long[] shifted = new long[wordsPerRow];
+        double rowCentre = (columns - count) / 2.0;
+        double preferredRow = (rows - 1) * PREFERRED_ROW_FRACTION;
+
+        Block best = null;
+        double bestScore = Double.MAX_VALUE;
+        for (int row = 0; row < rows; row++) {
+            double rowPenalty = ROW_WEIGHT * Math.abs(row - preferredRow);
+            if (rowPenalty >= bestScore) {
+                continue; // Even a perfectly centred block in this row cannot win
+            }
+            System.arraycopy(free, row * wordsPerRow, run, 0, wordsPerRow);
+            if (!runStarts(run, shifted, count)) {
+                continue;
+            }
+            int start = nearestSetBit(run, rowCentre);
+            double score = rowPenalty + Math.abs(start - rowCentre);
+            if (score < bestScore) {
+                bestScore = score;
+                best = new Block(row, start, count);
+            }
+        }
+        return best;
+    }
+
+    // Leaves bit i set in run iff bits i..i+count-1 were all set. Returns false if none remain.
+    static boolean runStarts(long[] run, long[] scratch, int count) {
+        int length = 1;
+        while (length < count) {
+            int shift = Math.min(length, count - length);
+            shiftRight(run, scratch, shift);
+            boolean any = false;
+            for (int w = 0; w < run.length; w++) {
+                run[w] &= scratch[w];
+                any |= run[w] != 0;
+            }
+            if (!any) {
+                return false;
+            }
+            length += shift;
+        }
+        for (long word : run) {
+            if (word != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Multi-word logical shift towards lower seat indexes: dst bit i = src bit i+shift
+    static void shiftRight(long[] src, long[] dst, int shift) {
+        int wordShift = shift >>> 6;
+        int bitShift = shift & 63;
+        for (int w = 0; w < src.length; w++) {
+            int from = w + wordShift;
+            long low = from < src.length ? src[from] : 0L;
+            long high = from + 1 < src.length ? src[from + 1] : 0L;
+            dst[w] = bitShift == 0 ? low : (low >>> bitShift) | (high << (64 - bitShift));
+        }
+    }
+
+    // Index of the set bit closest to target (ties go to the lower index)
+    static int nearestSetBit(long[] bits, double target) {
+        int best = -1;
+        double bestDistance = Double.MAX_VALUE;
+        for (int w = 0; w < bits.length; w++) {
+            long word = bits[w];
+            while (word != 0) {
+                int index = (w << 6) + Long.numberOfTrailingZeros(word);
+                double distance = Math.abs(index - target);
+                if (distance < bestDistance) {
+                    bestDistance = distance;
+                    best = index;
+                } else if (index > target) {
+                    return best; // Moving away from the target from here on
+                }
+                word &= word - 1;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,133 @@
+package com.moviebookingapp.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seat-state versions per showtime, plus a bounded ring buffer of recent seat changes.
+ * <p>
+ * Versions come from one global sequence seeded from the clock at startup, so they only ever
+ * increase, also across restarts. A showtime's log starts when it is first read; changes are
+ * only recorded for showtimes that have a log. Versions older than the log's floor (before it
+ * started, or overwritten in the ring) cannot be answered and callers fall back to a snapshot.
+ */
+@Service
+public class SeatChangeLog {
+
+    @Value("${seat.changes.ring-size:256}")
+    private int ringSize;
+
+    @Value("${seat.changes.max-showtimes:1000}")
+    private int maxShowtimes;
+
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    // Access-ordered for LRU eviction; guarded by its own monitor
+    private final LinkedHashMap<Long, Ring> rings = new LinkedHashMap<>(64, 0.75f, true);
+
+    public long currentVersion(Long showtimeId) {
+        return ring(showtimeId).version();
+    }
+
+    // Latest status per seat changed after the given version, or empty if that version is unknown
+    public Optional<Map<String, SeatStatusChangedEvent.Status>> changesSince(Long showtimeId, long since) {
+        return ring(showtimeId).changesSince(since);
+    }
+
+    @EventListener
+    public void onSeatStatusChanged(SeatStatusChangedEvent event) {
+        Ring ring;
+        synchronized (rings) {
+            ring = rings.get(event.showtimeId());
+        }
+        if (ring != null) {
+            ring.append(sequence.incrementAndGet(), event.seatNumbers(), event.status());
+        }
+    }
+
+    // Changes were not described by events; drop the log so old versions fall back to a snapshot
+    @EventListener
+    public void onSeatMapReset(SeatMapResetEvent event) {
+        synchronized (rings) {
+            rings.remove(event.showtimeId());
+        }
+    }
+
+    private Ring ring(Long showtimeId) {
+        synchronized (rings) {
+            Ring ring = rings.get(showtimeId);
+            if (ring == null) {
+                ring = new Ring(sequence.incrementAndGet(), ringSize);
+                rings.put(showtimeId, ring);
+                Iterator<Ring> it = rings.values().iterator();
+                while (rings.size() > maxShowtimes && it.hasNext()) {
+                    it.next();
+                    it.remove();
+                }
+            }
+            return ring;
+        }
+    }
+
+    private static final class Ring {
+        private final long[] versions;
+        private final String[] seatNumbers;
+        private final SeatStatusChangedEvent.Status[] statuses;
+        private int next;
+        private int size;
+        // Changes after floor are all still in the ring
+        private long floor;
+        private long version;
+
+        Ring(long initialVersion, int capacity) {
+            this.versions = new long[capacity];
+            this.seatNumbers = new String[capacity];
+            this.statuses = new SeatStatusChangedEvent.Status[capacity];
+            this.floor = initialVersion;
+            this.version = initialVersion;
+        }
+
+        synchronized long version() {
+            return version;
+        }
+
+        synchronized void append(long newVersion, List<String> changedSeats, SeatStatusChangedEvent.Status status) {
+            for (String seatNumber : changedSeats) {
+                if (size == versions.length) {
+                    // Overwriting the oldest entry: its version is no longer answerable
+                    floor = versions[next];
+                } else {
+                    size++;
+                }
+                versions[next] = newVersion;
+                seatNumbers[next] = seatNumber;
+                statuses[next] = status;
+                next = (next + 1) % versions.length;
+            }
+            version = newVersion;
+        }
+
+        synchronized Optional<Map<String, SeatStatusChangedEvent.Status>> changesSince(long since) {
+            if (since < floor || since > version) {
+                return Optional.empty();
+            }
+            Map<String, SeatStatusChangedEvent.Status> changes = new LinkedHashMap<>();
+            int start = (next - size + versions.length) % versions.length;
+            for (int i = 0; i < size; i++) {
+                int slot = (start + i) % versions.length;
+                if (versions[slot] > since) {
+                    changes.put(seatNumbers[slot], statuses[slot]);
+                }
+            }
+            return Optional.of(changes);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.moviebookingapp.backend.service;
+
+import com.moviebookingapp.backend.repository.SeatRepository;
+import com.moviebookingapp.backend.repository.ShowtimeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compares the denormalized showtime seat counters with the seats table and the live holds,
+ * logs any drift and repairs it. Only showtimes starting after now minus lookbackHours are
+ * checked; older ones take no more bookings, so their counters cannot drift any further.
+ */
+@Service
+public class SeatCounterReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatCounterReconciler.class);
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private SeatCounterService seatCounterService;
+
+    @Value("${seat.counters.reconcile-lookback-hours:24}")
+    private long lookbackHours;
+
+    // Showtime ids per seat count query, to keep the IN list bounded
+    private static final int CHUNK_SIZE = 500;
+
+    // Drift seen on the previous run, keyed by showtime id. The reads below are not one
+    // snapshot, so a booking in flight can look like drift once; we only repair drift
+    // that is still identical on the next run.
+    private final Map<Long, String> suspected = new ConcurrentHashMap<>();
+
+    @Scheduled(initialDelayString = "${seat.counters.reconcile-initial-delay-ms:60000}",
+               fixedDelayString = "${seat.counters.reconcile-interval-ms:600000}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    // Returns one entry per showtime whose counters drifted
+    public synchronized List<Map<String, Object>> reconcile() {
+        List<Object[]> stored = showtimeRepository.findSeatCountersFrom(LocalDateTime.now().minusHours(lookbackHours));
+        List<Long> showtimeIds = stored.stream().map(row -> (Long) row[0]).toList();
+        Map<Long, int[]> actual = new HashMap<>();
+        for (int from = 0; from < showtimeIds.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = showtimeIds.subList(from, Math.min(from + CHUNK_SIZE, showtimeIds.size()));
+            for (Object[] row : seatRepository.countSeatsPerShowtime(chunk)) {
+                actual.put((Long) row[0], new int[] { ((Number) row[1]).intValue(), ((Number) row[2]).intValue() });
+            }
+        }
+        Map<Long, Integer> held = seatHoldService.heldCountsByShowtime();
+
+        List<Map<String, Object>> drifted = new ArrayList<>();
+        for (Object[] row : stored) {
+            Long showtimeId = (Long) row[0];
+            int[] seats = actual.getOrDefault(showtimeId, new int[] { 0, 0 });
+            int expectedHeld = held.getOrDefault(showtimeId, 0);
+            int total = intValue(row[1]);
+            int booked = intValue(row[2]);
+            int heldCount = intValue(row[3]);
+
+            if (total != seats[0] || booked != seats[1] || heldCount != expectedHeld) {
+                String signature = total + "/" + seats[0] + "," + booked + "/" + seats[1] + "," + heldCount + "/" + expectedHeld;
+                boolean confirmed = signature.equals(suspected.put(showtimeId, signature));
+                log.warn("Seat counter drift on showtime {}: total {}/{}, booked {}/{}, held {}/{} (stored/actual){}",
+                    showtimeId, total, seats[0], booked, seats[1], heldCount, expectedHeld,
+                    confirmed ? ", repairing" : "");
+                if (confirmed) {
+                    seatCounterService.set(showtimeId, seats[0], seats[1], expectedHeld);
+                    suspected.remove(showtimeId);
+                }
+                drifted.add(Map.of(
+                    "showtimeId", showtimeId,
+                    "repaired", confirmed,
+                    "stored", Map.of("total", total, "booked", booked, "held", heldCount),
+                    "actual", Map.of("total", seats[0], "booked", seats[1], "held", expectedHeld)
+                ));
+            } else {
+                suspected.remove(showtimeId);
+            }
+        }
+        return drifted;
+    }
+
+    private static int intValue(Object value) {
+        return value != null ? ((Number) value).intValue() : 0;
+    }
+}
@@ -0,0 +1,183 @@
+package com.moviebookingapp.backend.service;
+
+import com.moviebookingapp.backend.entity.Showtime;
+import com.moviebookingapp.backend.repository.ShowtimeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-showtime total/booked/held seat counters. The persisted columns on showtimes are updated
+ * in the same transaction as the seat change; an in-memory LongAdder mirror keyed by showtime id
+ * serves listing reads and is updated once that transaction commits. The mirror is seeded from
+ * the database on first read, and SeatCounterReconciler repairs drift from the seats table.
+ */
+@Service
+public class SeatCounterService {
+
+    static final class Counters {
+        final LongAdder booked = new LongAdder();
+        final LongAdder held = new LongAdder();
+        volatile int total;
+
+        Counters(int total, int booked, int held) {
+            this.total = total;
+            this.booked.add(booked);
+            this.held.add(held);
+        }
+    }
+
+    /*
+     * Counter writes of one showtime that have not reached the mirror yet, and seeds reading it.
+     * A seed is only kept if no write was in flight or started while it read the database;
+     * otherwise that write may be both in the value read and applied to the mirror afterwards.
+     */
+    private static final class Activity {
+        private int inFlight;
+        private int seeders;
+        private long started;
+    }
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    private final Map<Long, Counters> mirror = new ConcurrentHashMap<>();
+    private final Map<Long, Activity> activity = new ConcurrentHashMap<>();
+
+    // Joins the caller's transaction (e.g. the seat claim) or runs in its own
+    @Transactional
+    public void adjust(Long showtimeId, int bookedDelta, int heldDelta) {
+        if (bookedDelta == 0 && heldDelta == 0) {
+            return;
+        }
+        showtimeRepository.adjustSeatCounters(showtimeId, bookedDelta, heldDelta);
+        applyOnCommit(showtimeId, bookedDelta, heldDelta);
+    }
+
+    // For writers that update the persisted counters themselves in the current transaction
+    // (e.g. the group-commit pipeline); the mirror follows once it commits
+    public void applyOnCommit(Long showtimeId, int bookedDelta, int heldDelta) {
+        activity.compute(showtimeId, (id, current) -> {
+            Activity entry = current != null ? current : new Activity();
+            entry.inFlight++;
+            entry.started++;
+            return entry;
+        });
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    Counters counters = mirror.get(showtimeId);
+                    if (counters != null) {
+                        counters.booked.add(bookedDelta);
+                        counters.held.add(heldDelta);
+                    }
+                }
+                activity.computeIfPresent(showtimeId, (id, entry) ->
+                    --entry.inFlight == 0 && entry.seeders == 0 ? null : entry);
+            }
+        });
+    }
+
+    @Transactional
+    public void set(Long showtimeId, int total, int booked, int held) {
+        showtimeRepository.setSeatCounters(showtimeId, total, booked, held);
+        afterCommit(() -> mirror.put(showtimeId, new Counters(total, booked, held)));
+    }
+
+    // Available seats without touching seat rows. The first read of a showtime seeds the
+    // mirror from the database, not from the passed entity, which may be a cached copy.
+    public int availableSeats(Showtime showtime) {
+        Counters counters = mirror.get(showtime.getId());
+        if (counters == null) {
+            counters = load(List.of(showtime.getId())).get(showtime.getId());
+        }
+        int total = counters != null && counters.total > 0 ? counters.total : showtime.getTotalSeats();
+        long taken = counters != null ? counters.booked.sum() + counters.held.sum() : 0;
+        return (int) Math.max(0, total - taken);
+    }
+
+    public void forget(Long showtimeId) {
+        mirror.remove(showtimeId);
+    }
+
+    // Holds are in memory only, so any held count persisted before a restart is stale
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void resetHeldCounters() {
+        showtimeRepository.resetHeldCounters();
+        mirror.clear();
+    }
+
+    // Loads the showtimes not mirrored yet with one query, so a listing does not cost a query
+    // per showtime
+    public void seed(Collection<Long> showtimeIds) {
+        load(showtimeIds);
+    }
+
+    // Returns the counters read; those that raced with a write are used for this read only
+    // and not kept, so the next read seeds them again
+    private Map<Long, Counters> load(Collection<Long> showtimeIds) {
+        List<Long> missing = showtimeIds.stream().filter(id -> !mirror.containsKey(id)).toList();
+        if (missing.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Long> startedBefore = new HashMap<>();
+        for (Long showtimeId : missing) {
+            activity.compute(showtimeId, (id, current) -> {
+                Activity entry = current != null ? current : new Activity();
+                entry.seeders++;
+                startedBefore.put(id, entry.inFlight == 0 ? entry.started : -1);
+                return entry;
+            });
+        }
+        Map<Long, Counters> seeded = new HashMap<>();
+        try {
+            for (Object[] row : showtimeRepository.findSeatCountersByIds(missing)) {
+                Long showtimeId = (Long) row[0];
+                Counters counters = new Counters(intValue(row[1]), intValue(row[2]), intValue(row[3]));
+                seeded.put(showtimeId, counters);
+                activity.computeIfPresent(showtimeId, (id, entry) -> {
+                    if (entry.inFlight == 0 && entry.started == startedBefore.get(id)) {
+                        mirror.putIfAbsent(id, counters);
+                    }
+                    return entry;
+                });
+            }
+        } finally {
+            for (Long showtimeId : missing) {
+                activity.computeIfPresent(showtimeId, (id, entry) ->
+                    --entry.seeders == 0 && entry.inFlight == 0 ? null : entry);
+            }
+        }
+        return seeded;
+    }
+
+    private static int intValue(Object value) {
+        return value != null ? ((Number) value).intValue() : 0;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
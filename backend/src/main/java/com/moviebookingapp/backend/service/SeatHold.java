@@ -0,0 +1,44 @@
+package com.moviebookingapp.backend.service;
+
+import java.util.List;
+
+// A temporary, in-memory lock on a set of seats for one user
+public final class SeatHold {
+    private final String id;
+    private final Long showtimeId;
+    private final String username;
+    private final List<String> seatNumbers;
+    private final long expiresAtMillis;
+
+    SeatHold(String id, Long showtimeId, String username, List<String> seatNumbers, long expiresAtMillis) {
+        this.id = id;
+        this.showtimeId = showtimeId;
+        this.username = username;
+        this.seatNumbers = List.copyOf(seatNumbers);
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Long getShowtimeId() {
+        return showtimeId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public List<String> getSeatNumbers() {
+        return seatNumbers;
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
@@ -0,0 +1,354 @@
+package com.moviebookingapp.backend.service;
+
+import com.moviebookingapp.backend.exception.SeatUnavailableException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Temporary seat holds. Seats are locked per showtime with putIfAbsent/replace on concurrent
+ * maps (no global lock), and expired by a hashed timing wheel ticking on a daemon thread.
+ * Holds live only in memory; the seats table is still the source of truth for bookings.
+ * <p>
+ * Every booking claim reserves its seats here too (see reserveForClaim), with a short-lived
+ * marker in place of a hold, so a claim and a hold can never both win a seat. A confirmed hold
+ * hands its seats straight to the claim and is only removed once the booking has committed.
+ */
+@Service
+public class SeatHoldService {
+
+    @Autowired
+    private SeatInventory seatInventory;
+
+    @Autowired
+    private SeatCounterService seatCounterService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${seat.hold.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${seat.hold.max-seats:10}")
+    private int maxSeatsPerHold;
+
+    @Value("${seat.hold.tick-millis:250}")
+    private long tickMillis;
+
+    // showtimeId -> (seatNumber -> hold)
+    private final Map<Long, Map<String, SeatHold>> heldSeats = new ConcurrentHashMap<>();
+    private final Map<String, SeatHold> holdsById = new ConcurrentHashMap<>();
+    private final Map<String, HashedTimingWheel.Timeout<SeatHold>> timeouts = new ConcurrentHashMap<>();
+
+    private HashedTimingWheel<SeatHold> wheel;
+    private ScheduledExecutorService reaper;
+
+    @PostConstruct
+    void start() {
+        wheel = new HashedTimingWheel<>(tickMillis, 2048, System.currentTimeMillis());
+        reaper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "seat-hold-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reaper.scheduleAtFixedRate(this::reap, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        reaper.shutdownNow();
+    }
+
+    /**
+     * Seats reserved for one booking claim, from before its seat UPDATE until it commits or
+     * rolls back. Must be passed to finishClaim exactly once.
+     */
+    public static final class ClaimReservation {
+        private final SeatHold marker;
+        private final SeatHold confirmedHold;
+
+        private ClaimReservation(SeatHold marker, SeatHold confirmedHold) {
+            this.marker = marker;
+            this.confirmedHold = confirmedHold;
+        }
+    }
+
+    public SeatHold hold(Long showtimeId, String username, List<String> seatNumbers) {
+        if (seatNumbers == null || seatNumbers.isEmpty()) {
+            throw new IllegalArgumentException("No seats selected");
+        }
+        if (seatNumbers.size() > maxSeatsPerHold) {
+            throw new IllegalArgumentException("A hold can contain at most " + maxSeatsPerHold + " seats");
+        }
+        if (new HashSet<>(seatNumbers).size() != seatNumbers.size()) {
+            throw new IllegalArgumentException("Duplicate seats selected");
+        }
+
+        long now = System.currentTimeMillis();
+        SeatHold hold = new SeatHold(UUID.randomUUID().toString(), showtimeId, username,
+                seatNumbers, now + TimeUnit.SECONDS.toMillis(ttlSeconds));
+
+        SeatMap seatMap = seatInventory.get(showtimeId);
+        List<String> lost = new ArrayList<>();
+        acquire(showtimeId, seatNumbers, hold, null, seatMap, lost, now);
+        if (!lost.isEmpty()) {
+            throw new SeatUnavailableException(lost);
+        }
+
+        holdsById.put(hold.getId(), hold);
+        timeouts.put(hold.getId(), wheel.schedule(hold, hold.getExpiresAtMillis()));
+        seatCounterService.adjust(showtimeId, 0, seatNumbers.size());
+        eventPublisher.publishEvent(new SeatStatusChangedEvent(showtimeId, hold.getSeatNumbers(), SeatStatusChangedEvent.Status.HELD));
+        return hold;
+    }
+
+    public Optional<SeatHold> findActive(String holdId) {
+        SeatHold hold = holdsById.get(holdId);
+        if (hold == null || hold.isExpired(System.currentTimeMillis())) {
+            return Optional.empty();
+        }
+        return Optional.of(hold);
+    }
+
+    // Frees the hold's seats; false if it is not this user's live hold for that showtime
+    public boolean release(Long showtimeId, String holdId, String username) {
+        SeatHold hold = holdsById.get(holdId);
+        if (hold == null || !hold.getUsername().equals(username)
+                || !hold.getShowtimeId().equals(showtimeId)
+                || hold.isExpired(System.currentTimeMillis())
+                || !holdsById.remove(holdId, hold)) {
+            return false;
+        }
+        releaseSeats(hold);
+        seatCounterService.adjust(hold.getShowtimeId(), 0, -hold.getSeatNumbers().size());
+        return true;
+    }
+
+    /**
+     * Reserves the seats for a booking claim so no hold can be placed on them until the claim
+     * finishes; fails with the seats that are held by someone else. With a confirmedHoldId the
+     * hold's own seats pass to the claim without ever becoming free, and the hold can be neither
+     * expired nor confirmed again meanwhile.
+     */
+    public ClaimReservation reserveForClaim(Long showtimeId, List<String> seatNumbers, String confirmedHoldId) {
+        long now = System.currentTimeMillis();
+        SeatHold confirmed = null;
+        if (confirmedHoldId != null) {
+            confirmed = holdsById.get(confirmedHoldId);
+            if (confirmed == null || confirmed.isExpired(now) || !confirmed.getShowtimeId().equals(showtimeId)
+                    || !holdsById.remove(confirmedHoldId, confirmed)) {
+                throw new SeatUnavailableException(seatNumbers);
+            }
+        }
+        SeatHold marker = new SeatHold("claim-" + UUID.randomUUID(), showtimeId, null,
+                seatNumbers, now + TimeUnit.SECONDS.toMillis(ttlSeconds));
+        List<String> lost = new ArrayList<>();
+        acquire(showtimeId, seatNumbers, marker, confirmed, null, lost, now);
+        if (!lost.isEmpty()) {
+            if (confirmed != null) {
+                restore(confirmed);
+            }
+            throw new SeatUnavailableException(lost);
+        }
+        return new ClaimReservation(marker, confirmed);
+    }
+
+    // Called once the claim's transaction has finished, after the seat map has been updated
+    public void finishClaim(ClaimReservation reservation, boolean committed) {
+        SeatHold marker = reservation.marker;
+        SeatHold confirmed = reservation.confirmedHold;
+        if (confirmed != null && !committed) {
+            // The claim failed: the hold gets its seats back
+            swap(marker, confirmed);
+            restore(confirmed);
+            return;
+        }
+        removeSeats(marker);
+        if (confirmed != null) {
+            cancelTimeout(confirmed);
+            seatCounterService.adjust(confirmed.getShowtimeId(), 0, -confirmed.getSeatNumbers().size());
+        }
+    }
+
+    public List<String> heldSeatNumbers(Long showtimeId) {
+        Map<String, SeatHold> showtimeHolds = heldSeats.get(showtimeId);
+        if (showtimeHolds == null) {
+            return List.of();
+        }
+        long now = System.currentTimeMillis();
+        List<String> result = new ArrayList<>();
+        showtimeHolds.forEach((seatNumber, hold) -> {
+            if (!hold.isExpired(now)) {
+                result.add(seatNumber);
+            }
+        });
+        return result;
+    }
+
+    public boolean isAnyHeld(Long showtimeId, List<String> seatNumbers) {
+        return isAnyHeld(showtimeId, seatNumbers, null);
+    }
+
+    // Seats of exceptHoldId (the hold being confirmed) do not count
+    public boolean isAnyHeld(Long showtimeId, List<String> seatNumbers, String exceptHoldId) {
+        Map<String, SeatHold> showtimeHolds = heldSeats.get(showtimeId);
+        if (showtimeHolds == null) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        for (String seatNumber : seatNumbers) {
+            SeatHold hold = showtimeHolds.get(seatNumber);
+            if (hold != null && !hold.isExpired(now) && !hold.getId().equals(exceptHoldId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Live held seats per showtime, for counter reconciliation
+    public Map<Long, Integer> heldCountsByShowtime() {
+        Map<Long, Integer> counts = new HashMap<>();
+        long now = System.currentTimeMillis();
+        for (SeatHold hold : holdsById.values()) {
+            if (!hold.isExpired(now)) {
+                counts.merge(hold.getShowtimeId(), hold.getSeatNumbers().size(), Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    public int activeHolds() {
+        return holdsById.size();
+    }
+
+    /*
+     * Takes every seat for owner or none; the seats that could not be taken end up in lost.
+     * Seats of confirmed pass to owner. Runs inside compute on the showtime's entry so it cannot
+     * interleave with removeIfEmpty dropping that entry.
+     */
+    private void acquire(Long showtimeId, List<String> seatNumbers, SeatHold owner, SeatHold confirmed,
+                         SeatMap seatMap, List<String> lost, long now) {
+        heldSeats.compute(showtimeId, (id, existing) -> {
+            Map<String, SeatHold> showtimeHolds = existing != null ? existing : new ConcurrentHashMap<>();
+            List<String> acquired = new ArrayList<>(seatNumbers.size());
+            for (String seatNumber : seatNumbers) {
+                boolean taken = confirmed != null && showtimeHolds.replace(seatNumber, confirmed, owner);
+                if (!taken && (seatMap == null || seatMap.isAvailable(seatNumber))) {
+                    taken = tryAcquire(showtimeHolds, seatNumber, owner, now);
+                }
+                if (taken) {
+                    acquired.add(seatNumber);
+                } else {
+                    lost.add(seatNumber);
+                }
+            }
+            if (!lost.isEmpty()) {
+                for (String seatNumber : acquired) {
+                    if (confirmed == null || !showtimeHolds.replace(seatNumber, owner, confirmed)) {
+                        showtimeHolds.remove(seatNumber, owner);
+                    }
+                }
+            }
+            return showtimeHolds.isEmpty() ? null : showtimeHolds;
+        });
+    }
+
+    private boolean tryAcquire(Map<String, SeatHold> showtimeHolds, String seatNumber, SeatHold hold, long now) {
+        SeatHold existing = showtimeHolds.putIfAbsent(seatNumber, hold);
+        if (existing == null) {
+            return true;
+        }
+        // An expired hold the reaper has not reached yet can be taken over with a CAS
+        return existing.isExpired(now) && showtimeHolds.replace(seatNumber, existing, hold);
+    }
+
+    // Puts a hold being confirmed back in place; one that expired meanwhile is released instead,
+    // since its timeout has already fired
+    private void restore(SeatHold hold) {
+        holdsById.put(hold.getId(), hold);
+        if (hold.isExpired(System.currentTimeMillis()) && holdsById.remove(hold.getId(), hold)) {
+            releaseSeats(hold);
+            seatCounterService.adjust(hold.getShowtimeId(), 0, -hold.getSeatNumbers().size());
+        }
+    }
+
+    // Gives the seats from one owner to another, where the first still has them
+    private void swap(SeatHold from, SeatHold to) {
+        Map<String, SeatHold> showtimeHolds = heldSeats.get(from.getShowtimeId());
+        if (showtimeHolds != null) {
+            for (String seatNumber : from.getSeatNumbers()) {
+                if (!showtimeHolds.replace(seatNumber, from, to)) {
+                    showtimeHolds.remove(seatNumber, from);
+                }
+            }
+        }
+    }
+
+    // One wheel step; expired seats are summed per showtime so each showtime costs one counter update
+    private void reap() {
+        Map<Long, Integer> expiredSeats = new HashMap<>();
+        wheel.advance(System.currentTimeMillis(), hold -> {
+            if (holdsById.remove(hold.getId(), hold)) {
+                releaseSeats(hold);
+                expiredSeats.merge(hold.getShowtimeId(), hold.getSeatNumbers().size(), Integer::sum);
+            }
+        });
+        expiredSeats.forEach((showtimeId, count) -> {
+            try {
+                seatCounterService.adjust(showtimeId, 0, -count);
+            } catch (RuntimeException e) {
+                // Left for the reconciler; the reaper thread must keep running
+            }
+        });
+    }
+
+    // FREE is only published for seats the hold still had; an expired hold may have lost some
+    // to a newer hold already
+    private void releaseSeats(SeatHold hold) {
+        cancelTimeout(hold);
+        List<String> freed = removeSeats(hold);
+        if (!freed.isEmpty()) {
+            eventPublisher.publishEvent(new SeatStatusChangedEvent(hold.getShowtimeId(), freed, SeatStatusChangedEvent.Status.FREE));
+        }
+    }
+
+    private void cancelTimeout(SeatHold hold) {
+        HashedTimingWheel.Timeout<SeatHold> timeout = timeouts.remove(hold.getId());
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    // Removes the seats the owner still has and drops the showtime's map once it is empty
+    private List<String> removeSeats(SeatHold owner) {
+        Map<String, SeatHold> showtimeHolds = heldSeats.get(owner.getShowtimeId());
+        if (showtimeHolds == null) {
+            return List.of();
+        }
+        List<String> removed = new ArrayList<>(owner.getSeatNumbers().size());
+        for (String seatNumber : owner.getSeatNumbers()) {
+            if (showtimeHolds.remove(seatNumber, owner)) {
+                removed.add(seatNumber);
+            }
+        }
+        if (showtimeHolds.isEmpty()) {
+            heldSeats.computeIfPresent(owner.getShowtimeId(), (id, current) -> current.isEmpty() ? null : current);
+        }
+        return removed;
+    }
+}
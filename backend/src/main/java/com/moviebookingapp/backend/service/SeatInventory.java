@@ -0,0 +1,175 @@
+package com.moviebookingapp.backend.service;
+
+import com.moviebookingapp.backend.entity.SeatCode;
+import com.moviebookingapp.backend.repository.SeatRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * In-memory seat inventory: one SeatMap bitmap per showtime over its theater's shared layout,
+ * loaded lazily from the seats table and evicted least-recently-used once the configured memory
+ * budget is exceeded.
+ */
+@Service
+public class SeatInventory {
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private SeatLayoutService seatLayoutService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${seat.inventory.max-bytes:16777216}")
+    private long maxBytes;
+
+    // Access-ordered map gives us LRU iteration order; guarded by its own monitor
+    private final LinkedHashMap<Long, SeatMap> maps = new LinkedHashMap<>(64, 0.75f, true);
+    private long residentBytes;
+
+    // Showtimes with a load in flight. Writes to such a showtime are counted so a load that
+    // raced with one is not cached stale; writes to other showtimes do not affect it.
+    private final Map<Long, PendingLoad> pendingLoads = new ConcurrentHashMap<>();
+
+    private static final class PendingLoad {
+        private final AtomicLong writes = new AtomicLong();
+        // Concurrent loads of the same showtime share one entry; guarded by the map's compute
+        private int loaders;
+    }
+
+    public SeatMap get(Long showtimeId) {
+        synchronized (maps) {
+            SeatMap cached = maps.get(showtimeId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        PendingLoad pending = pendingLoads.compute(showtimeId, (id, existing) -> {
+            PendingLoad entry = existing != null ? existing : new PendingLoad();
+            entry.loaders++;
+            return entry;
+        });
+        long writesBeforeLoad = pending.writes.get();
+        try {
+            SeatMap loaded = load(showtimeId);
+
+            synchronized (maps) {
+                SeatMap cached = maps.get(showtimeId);
+                if (cached != null) {
+                    return cached;
+                }
+                if (pending.writes.get() == writesBeforeLoad) {
+                    maps.put(showtimeId, loaded);
+                    residentBytes += loaded.footprintBytes();
+                    evictOverBudget();
+                }
+            }
+            return loaded;
+        } finally {
+            pendingLoads.compute(showtimeId, (id, entry) -> --entry.loaders == 0 ? null : entry);
+        }
+    }
+
+    public void markBooked(Long showtimeId, List<String> seatNumbers) {
+        update(showtimeId, seatNumbers, true);
+        publish(showtimeId, seatNumbers, SeatStatusChangedEvent.Status.BOOKED);
+    }
+
+    public void markAvailable(Long showtimeId, List<String> seatNumbers) {
+        update(showtimeId, seatNumbers, false);
+        publish(showtimeId, seatNumbers, SeatStatusChangedEvent.Status.FREE);
+    }
+
+    public void markBooked(Long showtimeId, int[] seatCodes) {
+        update(showtimeId, map -> map.setBooked(seatCodes, true));
+        publish(showtimeId, SeatCode.formatAll(seatCodes), SeatStatusChangedEvent.Status.BOOKED);
+    }
+
+    public void markAvailable(Long showtimeId, int[] seatCodes) {
+        update(showtimeId, map -> map.setBooked(seatCodes, false));
+        publish(showtimeId, SeatCode.formatAll(seatCodes), SeatStatusChangedEvent.Status.FREE);
+    }
+
+    public void evict(Long showtimeId) {
+        recordWrite(showtimeId);
+        synchronized (maps) {
+            SeatMap removed = maps.remove(showtimeId);
+            if (removed != null) {
+                residentBytes -= removed.footprintBytes();
+            }
+        }
+        eventPublisher.publishEvent(new SeatMapResetEvent(showtimeId));
+    }
+
+    public int size() {
+        synchronized (maps) {
+            return maps.size();
+        }
+    }
+
+    public long residentBytes() {
+        synchronized (maps) {
+            return residentBytes;
+        }
+    }
+
+    private void publish(Long showtimeId, List<String> seatNumbers, SeatStatusChangedEvent.Status status) {
+        eventPublisher.publishEvent(new SeatStatusChangedEvent(showtimeId, seatNumbers, status));
+    }
+
+    private void update(Long showtimeId, List<String> seatNumbers, boolean isBooked) {
+        update(showtimeId, map -> map.setBooked(seatNumbers, isBooked));
+    }
+
+    private void update(Long showtimeId, Consumer<SeatMap> change) {
+        recordWrite(showtimeId);
+        SeatMap map;
+        synchronized (maps) {
+            map = maps.get(showtimeId);
+        }
+        if (map != null) {
+            change.accept(map);
+        }
+    }
+
+    // Before the cached map is touched, so a load either sees this write or is discarded
+    private void recordWrite(Long showtimeId) {
+        PendingLoad pending = pendingLoads.get(showtimeId);
+        if (pending != null) {
+            pending.writes.incrementAndGet();
+        }
+    }
+
+    private SeatMap load(Long showtimeId) {
+        // Scalar projection: no Seat/Showtime/Booking entities are materialized
+        List<Object[]> states = seatRepository.findSeatStatesByShowtimeId(showtimeId);
+
+        SeatMap map = new SeatMap(showtimeId, seatLayoutService.forShowtimeId(showtimeId));
+        for (Object[] state : states) {
+            map.put((String) state[0], Boolean.TRUE.equals(state[1]));
+        }
+        return map;
+    }
+
+    private void evictOverBudget() {
+        Iterator<Map.Entry<Long, SeatMap>> it = maps.entrySet().iterator();
+        while (residentBytes > maxBytes && maps.size() > 1 && it.hasNext()) {
+            SeatMap coldest = it.next().getValue();
+            residentBytes -= coldest.footprintBytes();
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.moviebookingapp.backend.service;
+
+import com.moviebookingapp.backend.entity.SeatCode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable seat layout of a theater, shared by every showtime in that theater.
+ * <p>
+ * A layout is written as one string per row, rows separated by '/', one character per
+ * physical position: a seat-class letter for a seat, '.' for a gap (aisle). Seats are
+ * numbered from 1 within each row, skipping gaps, so "SS.SS" holds A1 A2 (gap) A3 A4.
+ * Bit positions follow physical columns, so gaps are never part of an adjacent block.
+ */
+public final class SeatLayout {
+
+    public enum SeatClass {
+        STANDARD('S'), PREMIUM('P'), RECLINER('R');
+
+        private final char code;
+
+        SeatClass(char code) {
+            this.code = code;
+        }
+
+        static SeatClass of(char code) {
+            for (SeatClass seatClass : values()) {
+                if (seatClass.code == code) {
+                    return seatClass;
+                }
+            }
+            throw new IllegalArgumentException("Unknown seat class '" + code + "'");
+        }
+    }
+
+    public static final int STANDARD_SEATS_PER_ROW = 12;
+    public static final SeatLayout EMPTY = new SeatLayout("", List.of());
+
+    private static final char GAP = '.';
+    private static final int MAX_ROWS = 26; // Rows are lettered A-Z
+    // Largest totalSeats a theater without an explicit layout can have
+    public static final int MAX_STANDARD_SEATS = MAX_ROWS * STANDARD_SEATS_PER_ROW;
+
+    private final String spec;
+    private final int rows;
+    private final int columns;
+    private final int wordsPerRow;
+    private final int capacity;
+    // Bit index = row * wordsPerRow * 64 + physical column
+    private final long[] seatMask;
+    private final String[] seatNumbers;
+    private final SeatClass[] seatClasses;
+    // Per row: seat number within the row (1-based) -> physical column
+    private final int[][] columnBySeat;
+
+    private SeatLayout(String spec, List<String> rowSpecs) {
+        this.spec = spec;
+        this.rows = rowSpecs.size();
+        int widest = 0;
+        for (String rowSpec : rowSpecs) {
+            widest = Math.max(widest, rowSpec.length());
+        }
+        this.columns = widest;
+        this.wordsPerRow = (widest + 63) >>> 6;
+        this.seatMask = new long[rows * wordsPerRow];
+        this.seatNumbers = new String[rows * wordsPerRow * 64];
+        this.seatClasses = new SeatClass[rows * wordsPerRow * 64];
+        this.columnBySeat = new int[rows][];
+
+        int seats = 0;
+        for (int row = 0; row < rows; row++) {
+            String rowSpec = rowSpecs.get(row);
+            int[] columnsOfRow = new int[rowSpec.length() + 1];
+            int seatInRow = 0;
+            for (int col = 0; col < rowSpec.length(); col++) {
+                char c = rowSpec.charAt(col);
+                if (c == GAP) {
+                    continue;
+                }
+                int index = bitIndex(row, col);
+                seatMask[index >>> 6] |= 1L << index;
+                seatClasses[index] = SeatClass.of(c);
+                seatNumbers[index] = (char) ('A' + row) + String.valueOf(++seatInRow);
+                columnsOfRow[seatInRow] = col;
+            }
+            columnBySeat[row] = Arrays.copyOf(columnsOfRow, seatInRow + 1);
+            seats += seatInRow;
+        }
+        this.capacity = seats;
+    }
+
+    public static SeatLayout parse(String spec) {
+        if (spec == null || spec.isBlank()) {
+            throw new IllegalArgumentException("Seat layout is empty");
+        }
+        List<String> rowSpecs = new ArrayList<>();
+        Collections.addAll(rowSpecs, spec.trim().split("/"));
+        if (rowSpecs.size() > MAX_ROWS) {
+            throw new IllegalArgumentException("A seat layout can have at most " + MAX_ROWS + " rows");
+        }
+        return new SeatLayout(spec.trim(), rowSpecs);
+    }
+
+    // Rows of 12 standard seats, the last row partial; matches theaters without an explicit layout
+    public static String standardSpec(int totalSeats) {
+        StringBuilder spec = new StringBuilder();
+        for (int remaining = totalSeats; remaining > 0; remaining -= STANDARD_SEATS_PER_ROW) {
+            if (spec.length() > 0) {
+                spec.append('/');
+            }
+            spec.append("S".repeat(Math.min(remaining, STANDARD_SEATS_PER_ROW)));
+        }
+        return spec.toString();
+    }
+
+    public String getSpec() {
+        return spec;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    // Physical columns of the widest row, gaps included
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    int wordsPerRow() {
+        return wordsPerRow;
+    }
+
+    // Copy of the seat-position bitmap, row-major
+    long[] seatMask() {
+        return seatMask.clone();
+    }
+
+    long seatMaskWord(int word) {
+        return seatMask[word];
+    }
+
+    // Bit index of "B12", or -1 if the layout has no such seat
+    public int indexOf(String seatNumber) {
+        return indexOf(SeatCode.parse(seatNumber));
+    }
+
+    // Bit index of a packed SeatCode, or -1 if the layout has no such seat
+    public int indexOf(int seatCode) {
+        if (seatCode == SeatCode.INVALID) {
+            return -1;
+        }
+        int row = SeatCode.row(seatCode);
+        int seatInRow = SeatCode.seatInRow(seatCode);
+        if (row >= rows || seatInRow >= columnBySeat[row].length) {
+            return -1;
+        }
+        return bitIndex(row, columnBySeat[row][seatInRow]);
+    }
+
+    // Seat number at a bit index, or null for a gap / outside the layout
+    public String seatNumber(int index) {
+        return index >= 0 && index < seatNumbers.length ? seatNumbers[index] : null;
+    }
+
+    public String seatNumber(int row, int col) {
+        return seatNumber(bitIndex(row, col));
+    }
+
+    public SeatClass seatClass(String seatNumber) {
+        int index = indexOf(seatNumber);
+        return index < 0 ? null : seatClasses[index];
+    }
+
+    // All seat numbers in row-major order
+    public List<String> seatNumbers() {
+        List<String> result = new ArrayList<>(capacity);
+        for (String seatNumber : seatNumbers) {
+            if (seatNumber != null) {
+                result.add(seatNumber);
+            }
+        }
+        return result;
+    }
+
+    public List<String> rowSpecs() {
+        return spec.isEmpty() ? List.of() : List.of(spec.split("/"));
+    }
+
+    int bitIndex(int row, int col) {
+        return (row * wordsPerRow << 6) + col;
+    }
+}
@@ -0,0 +1,64 @@
+package com.moviebookingapp.backend.service;
+
+import com.moviebookingapp.backend.entity.Showtime;
+import com.moviebookingapp.backend.entity.Theater;
+import com.moviebookingapp.backend.repository.ShowtimeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves theaters and showtimes to their SeatLayout. Layouts are interned by spec, so every
+ * showtime in a theater (and every theater with the same layout) shares one instance.
+ */
+@Service
+public class SeatLayoutService {
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    private final ConcurrentHashMap<String, SeatLayout> layouts = new ConcurrentHashMap<>();
+
+    public SeatLayout forTheater(Theater theater) {
+        if (theater == null) {
+            return intern(SeatLayout.standardSpec(144));
+        }
+        return intern(specOf(theater.getSeatLayout(), theater.getTotalSeats()));
+    }
+
+    public SeatLayout forShowtime(Showtime showtime) {
+        return forTheater(showtime.getTheater());
+    }
+
+    // Scalar lookup for callers that only have the id (e.g. inventory loads)
+    public SeatLayout forShowtimeId(Long showtimeId) {
+        List<Object[]> rows = showtimeRepository.findTheaterLayoutByShowtimeId(showtimeId);
+        if (rows.isEmpty()) {
+            return SeatLayout.EMPTY;
+        }
+        Object[] row = rows.get(0);
+        return intern(specOf((String) row[0], (Integer) row[1]));
+    }
+
+    // Parses and validates a layout spec, e.g. before it is stored on a theater
+    public SeatLayout parse(String spec) {
+        return intern(SeatLayout.parse(spec).getSpec());
+    }
+
+    private SeatLayout intern(String spec) {
+        if (spec.isEmpty()) {
+            return SeatLayout.EMPTY;
+        }
+        SeatLayout cached = layouts.get(spec);
+        return cached != null ? cached : layouts.computeIfAbsent(spec, SeatLayout::parse);
+    }
+
+    private static String specOf(String seatLayout, Integer totalSeats) {
+        if (seatLayout != null && !seatLayout.isBlank()) {
+            return seatLayout.trim();
+        }
+        return SeatLayout.standardSpec(totalSeats != null ? totalSeats : 144);
+    }
+}
@@ -0,0 +1,131 @@
+package com.moviebookingapp.backend.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Compact in-memory seat state for one showtime.
+ * Geometry comes from the theater's shared SeatLayout; the only per-showtime state is one
+ * occupancy bitmap laid out like the layout's seat mask. A seat is "taken" when it is booked
+ * or has no row in the seats table (not materialized yet), so only materialized free seats
+ * are ever offered.
+ */
+public final class SeatMap {
+
+    private final long showtimeId;
+    private final SeatLayout layout;
+    private final long[] taken;
+
+    SeatMap(long showtimeId, SeatLayout layout) {
+        this.showtimeId = showtimeId;
+        this.layout = layout;
+        this.taken = layout.seatMask();
+    }
+
+    public long getShowtimeId() {
+        return showtimeId;
+    }
+
+    public SeatLayout getLayout() {
+        return layout;
+    }
+
+    public int getRows() {
+        return layout.getRows();
+    }
+
+    public int getColumns() {
+        return layout.getColumns();
+    }
+
+    // Approximate heap footprint, used for the inventory memory budget; the layout is shared
+    long footprintBytes() {
+        return 48L + 16L + 8L * taken.length;
+    }
+
+    // Records a materialized seat and whether it is booked; seats outside the layout are ignored
+    synchronized void put(String seatNumber, boolean isBooked) {
+        int index = layout.indexOf(seatNumber);
+        if (index >= 0) {
+            setTaken(index, isBooked);
+        }
+    }
+
+    public synchronized int countAvailable() {
+        int count = 0;
+        for (int i = 0; i < taken.length; i++) {
+            count += Long.bitCount(layout.seatMaskWord(i) & ~taken[i]);
+        }
+        return count;
+    }
+
+    public synchronized boolean isAvailable(String seatNumber) {
+        int index = layout.indexOf(seatNumber);
+        return index >= 0 && (taken[index >>> 6] & (1L << index)) == 0;
+    }
+
+    public synchronized boolean areAvailable(List<String> seatNumbers) {
+        for (String seatNumber : seatNumbers) {
+            if (!isAvailable(seatNumber)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public synchronized List<String> availableSeatNumbers() {
+        long[] free = freeWords(List.of());
+        List<String> result = new ArrayList<>();
+        for (int word = 0; word < free.length; word++) {
+            long bits = free[word];
+            while (bits != 0) {
+                result.add(layout.seatNumber((word << 6) + Long.numberOfTrailingZeros(bits)));
+                bits &= bits - 1;
+            }
+        }
+        return result;
+    }
+
+    // Snapshot of free seats, row-major, with the given seats (e.g. held ones) cleared
+    public synchronized long[] freeWords(Collection<String> excluded) {
+        long[] free = layout.seatMask();
+        for (int i = 0; i < free.length; i++) {
+            free[i] &= ~taken[i];
+        }
+        for (String seatNumber : excluded) {
+            int index = layout.indexOf(seatNumber);
+            if (index >= 0) {
+                free[index >>> 6] &= ~(1L << index);
+            }
+        }
+        return free;
+    }
+
+    // Updates the booked flag of seats that exist in the layout
+    synchronized void setBooked(List<String> seatNumbers, boolean isBooked) {
+        for (String seatNumber : seatNumbers) {
+            int index = layout.indexOf(seatNumber);
+            if (index >= 0) {
+                setTaken(index, isBooked);
+            }
+        }
+    }
+
+    synchronized void setBooked(int[] seatCodes, boolean isBooked) {
+        for (int seatCode : seatCodes) {
+            int index = layout.indexOf(seatCode);
+            if (index >= 0) {
+                setTaken(index, isBooked);
+            }
+        }
+    }
+
+    private void setTaken(int index, boolean isTaken) {
+        if (isTaken) {
+            taken[index >>> 6] |= 1L << index;
+        } else {
+            taken[index >>> 6] &= ~(1L << index);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.moviebookingapp.backend.service;
+
+/**
+ * Published when a showtime's in-memory seat map is dropped because it may no longer match the
+ * database (seats generated, a claim found it stale, a seat row deleted). Seat state may have
+ * changed in ways no SeatStatusChangedEvent described, so listeners must start over.
+ */
+public record SeatMapResetEvent(Long showtimeId) {
+}
@@ -0,0 +1,117 @@
+package com.moviebookingapp.backend.service;
+
+import com.moviebookingapp.backend.entity.Showtime;
+import com.moviebookingapp.backend.repository.SeatRepository;
+import com.moviebookingapp.backend.repository.ShowtimeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Creates showtime seats in the background, so no read request ever has to generate them.
+ * Seats are materialized right after a showtime is created, and a periodic prewarm makes sure
+ * every showtime starting soon has its seats in the database and its bitmap in SeatInventory.
+ */
+@Service
+public class SeatMaterializationService {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatMaterializationService.class);
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private SeatInventory seatInventory;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    @Qualifier("seatMaterializationExecutor")
+    private TaskExecutor executor;
+
+    @Value("${seat.prewarm.horizon-hours:48}")
+    private long prewarmHorizonHours;
+
+    // Showtime ids currently being generated, so concurrent triggers never insert twice
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    public void materializeAsync(Showtime showtime) {
+        if (!inFlight.add(showtime.getId())) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    materialize(List.of(showtime));
+                } finally {
+                    inFlight.remove(showtime.getId());
+                }
+            });
+        } catch (RuntimeException e) {
+            // Queue full: the next prewarm run will pick this showtime up
+            inFlight.remove(showtime.getId());
+            log.warn("Seat materialization for showtime {} deferred: {}", showtime.getId(), e.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${seat.prewarm.initial-delay-ms:10000}",
+               fixedDelayString = "${seat.prewarm.interval-ms:300000}")
+    public void prewarmUpcomingShowtimes() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Showtime> upcoming = showtimeRepository.findByShowTimeBetweenOrderByShowTime(
+            now, now.plusHours(prewarmHorizonHours));
+        if (upcoming.isEmpty()) {
+            return;
+        }
+
+        List<Showtime> claimed = upcoming.stream()
+            .filter(showtime -> inFlight.add(showtime.getId()))
+            .collect(Collectors.toList());
+        try {
+            materialize(claimed);
+        } finally {
+            claimed.forEach(showtime -> inFlight.remove(showtime.getId()));
+        }
+
+        for (Showtime showtime : upcoming) {
+            seatInventory.get(showtime.getId());
+        }
+    }
+
+    private void materialize(List<Showtime> showtimes) {
+        if (showtimes.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = showtimes.stream().map(Showtime::getId).collect(Collectors.toSet());
+        Set<Long> existing = new HashSet<>(seatRepository.findMaterializedShowtimeIds(ids));
+        List<Showtime> missing = showtimes.stream()
+            .filter(showtime -> !existing.contains(showtime.getId()))
+            .collect(Collectors.toList());
+        if (missing.isEmpty()) {
+            return;
+        }
+        try {
+            seatService.generateSeatsForShowtimes(missing);
+            log.info("Materialized seats for {} showtime(s)", missing.size());
+        } catch (RuntimeException e) {
+            // Most likely another node won the race and the unique constraint fired
+            log.warn("Seat materialization failed for showtimes {}: {}", ids, e.getMessage());
+        }
+    }
+}
@@ -3,40 +3,75 @@ package com.moviebookingapp.backend.service;
 import com.moviebookingapp.backend.entity.Seat;
 import com.moviebookingapp.backend.entity.Showtime;
 import com.moviebookingapp.backend.entity.Booking;
+import com.moviebookingapp.backend.entity.SeatCode;
+import com.moviebookingapp.backend.exception.SeatUnavailableException;
 import com.moviebookingapp.backend.repository.SeatRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 @Service
 public class SeatService {
     
     @Autowired
     private SeatRepository seatRepository;
-
-    public List<Seat> findAll() {
-        return seatRepository.findAll();
-    }
+    
+    @Autowired
+    private SeatInventory seatInventory;
+    
+    @Autowired
+    private SeatHoldService seatHoldService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private SeatCounterService seatCounterService;
+    
+    @Autowired
+    private SeatLayoutService seatLayoutService;
+    
+    private static final int BEST_BLOCK_HOLD_ATTEMPTS = 3;
+    
+    // Keyed by identity: layouts are interned by SeatLayoutService
+    private final Map<SeatLayout, String> layoutInserts = new ConcurrentHashMap<>();
 
     public Optional<Seat> findById(Long id) {
         return seatRepository.findById(id);
     }
 
     public Seat save(Seat seat) {
-        return seatRepository.save(seat);
+        Seat saved = seatRepository.save(seat);
+        List<String> seatNumbers = List.of(saved.getSeatNumber());
+        if (Boolean.TRUE.equals(saved.getIsBooked())) {
+            seatInventory.markBooked(saved.getShowtime().getId(), seatNumbers);
+        } else {
+            seatInventory.markAvailable(saved.getShowtime().getId(), seatNumbers);
+        }
+        return saved;
     }
     
+    // Index lookup on showtime_id (leading column of uk_seats_showtime_seat)
     public List<Seat> findByShowtimeId(Long showtimeId) {
-        // First get the showtime, then find seats
-        // This method will be used by the controller
-        return seatRepository.findAll().stream()
-            .filter(seat -> seat.getShowtime().getId().equals(showtimeId))
-            .collect(java.util.stream.Collectors.toList());
+        return seatRepository.findByShowtimeIdOrderBySeatNumber(showtimeId);
     }
     
     public void deleteById(Long id) {
+        seatRepository.findById(id)
+            .ifPresent(seat -> seatInventory.evict(seat.getShowtime().getId()));
         seatRepository.deleteById(id);
     }
 
@@ -44,8 +79,18 @@ public class SeatService {
         return seatRepository.findByShowtimeOrderBySeatNumber(showtime);
     }
 
-    public List<Seat> findAvailableSeats(Showtime showtime) {
-        return seatRepository.findByShowtimeAndIsBookedFalseOrderBySeatNumber(showtime);
+    // Answered from the in-memory bitmap, ordered by row then seat number; held seats are excluded
+    public List<String> findAvailableSeats(Showtime showtime) {
+        List<String> available = seatInventory.get(showtime.getId()).availableSeatNumbers();
+        List<String> held = seatHoldService.heldSeatNumbers(showtime.getId());
+        if (!held.isEmpty()) {
+            available.removeAll(new HashSet<>(held));
+        }
+        return available;
+    }
+
+    public List<String> findHeldSeats(Showtime showtime) {
+        return seatHoldService.heldSeatNumbers(showtime.getId());
     }
 
     public List<Seat> findBookedSeats(Showtime showtime) {
@@ -53,7 +98,45 @@ public class SeatService {
     }
 
     public Integer countAvailableSeats(Showtime showtime) {
-        return seatRepository.countAvailableSeats(showtime);
+        SeatMap seatMap = seatInventory.get(showtime.getId());
+        int held = 0;
+        for (String seatNumber : seatHoldService.heldSeatNumbers(showtime.getId())) {
+            if (seatMap.isAvailable(seatNumber)) {
+                held++;
+            }
+        }
+        return seatMap.countAvailable() - held;
+    }
+
+    // Best block of count adjacent seats in one row (neither booked nor held), empty if none
+    public List<String> findBestBlock(Showtime showtime, int count) {
+        SeatMap seatMap = seatInventory.get(showtime.getId());
+        long[] free = seatMap.freeWords(seatHoldService.heldSeatNumbers(showtime.getId()));
+        SeatBlockFinder.Block block = SeatBlockFinder.findBest(free, seatMap.getRows(), seatMap.getColumns(), count);
+        if (block == null) {
+            return List.of();
+        }
+        List<String> seatNumbers = new ArrayList<>(count);
+        for (int col = block.firstColumn(); col < block.firstColumn() + count; col++) {
+            seatNumbers.add(seatMap.getLayout().seatNumber(block.row(), col));
+        }
+        return seatNumbers;
+    }
+
+    // Finds and holds the best block; a block lost to a concurrent hold is searched again
+    public Optional<SeatHold> holdBestBlock(Showtime showtime, String username, int count) {
+        for (int attempt = 0; attempt < BEST_BLOCK_HOLD_ATTEMPTS; attempt++) {
+            List<String> block = findBestBlock(showtime, count);
+            if (block.isEmpty()) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(seatHoldService.hold(showtime.getId(), username, block));
+            } catch (SeatUnavailableException e) {
+                // Someone else got there first; the next search no longer sees those seats
+            }
+        }
+        return Optional.empty();
     }
 
     public List<Seat> findSeatsByNumbers(List<String> seatNumbers, Showtime showtime) {
@@ -61,9 +144,20 @@ public class SeatService {
     }
 
     public boolean areSeatsAvailable(List<String> seatNumbers, Showtime showtime) {
-        List<Seat> seats = findSeatsByNumbers(seatNumbers, showtime);
-        return seats.size() == seatNumbers.size() && 
-               seats.stream().allMatch(seat -> !seat.getIsBooked());
+        return seatInventory.get(showtime.getId()).areAvailable(seatNumbers)
+            && !seatHoldService.isAnyHeld(showtime.getId(), seatNumbers);
+    }
+
+    // The requested seats that are booked or held by someone, in request order
+    public List<String> unavailableSeats(List<String> seatNumbers, Showtime showtime) {
+        SeatMap seatMap = seatInventory.get(showtime.getId());
+        List<String> unavailable = new ArrayList<>();
+        for (String seatNumber : seatNumbers) {
+            if (!seatMap.isAvailable(seatNumber) || seatHoldService.isAnyHeld(showtime.getId(), List.of(seatNumber))) {
+                unavailable.add(seatNumber);
+            }
+        }
+        return unavailable;
     }
 
     public void bookSeats(List<String> seatNumbers, Showtime showtime, Booking booking) {
@@ -71,23 +165,142 @@ public class SeatService {
         for (Seat seat : seats) {
             seat.setIsBooked(true);
             seat.setBooking(booking);
-            save(seat);
+            seatRepository.save(seat);
         }
+        seatInventory.markBooked(showtime.getId(), seatNumbers);
     }
 
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void claimSeats(List<String> seatNumbers, Showtime showtime, Booking booking) {
+        claimSeats(seatNumbers, showtime, booking, null);
+    }
+
+    // Marks all requested seats booked in one conditional UPDATE. Must run inside the
+    // caller's transaction so a partial claim is rolled back together with the booking.
+    // Seats held by anyone but holdId (the hold being confirmed, if any) are refused.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void claimSeats(List<String> seatNumbers, Showtime showtime, Booking booking, String holdId) {
+        Long showtimeId = showtime.getId();
+        SeatHoldService.ClaimReservation reservation = seatHoldService.reserveForClaim(showtimeId, seatNumbers, holdId);
+        // Registered before markBooked's afterCommit; afterCompletion still runs after it
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                seatHoldService.finishClaim(reservation, status == STATUS_COMMITTED);
+            }
+        });
+        int claimed = seatRepository.claimSeats(showtimeId, seatNumbers, booking);
+        if (claimed != seatNumbers.size()) {
+            List<String> won = seatRepository.findSeatNumbersByBookingId(booking.getId());
+            List<String> lost = seatNumbers.stream()
+                .filter(seatNumber -> !won.contains(seatNumber))
+                .collect(Collectors.toList());
+            // Our bitmap said these were free, so it is stale; reload it on next read
+            seatInventory.evict(showtimeId);
+            throw new SeatUnavailableException(lost);
+        }
+
+        int[] seatCodes = booking.getSeatCodes() != null ? booking.getSeatCodes() : SeatCode.parseAll(seatNumbers);
+        seatCounterService.adjust(showtimeId, seatNumbers.size(), 0);
+        afterCommit(() -> seatInventory.markBooked(showtimeId, seatCodes));
+    }
+
+    // Frees all seats of a booking with one set-based update keyed on booking_id and
+    // returns the freed seat numbers. Runs inside the caller's transaction.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<String> releaseSeats(Booking booking) {
+        Long showtimeId = booking.getShowtime().getId();
+        // The booking already carries its packed seats; only legacy rows need the lookup
+        int[] freed = booking.getSeatCodes() != null
+            ? booking.getSeatCodes()
+            : SeatCode.parseAll(seatRepository.findSeatNumbersByBookingId(booking.getId()));
+        int released = seatRepository.releaseSeatsByBookingId(booking.getId());
+        
+        seatCounterService.adjust(showtimeId, -released, 0);
+        afterCommit(() -> seatInventory.markAvailable(showtimeId, freed));
+        return SeatCode.formatAll(freed);
+    }
+
+    @Transactional
     public void generateSeatsForShowtime(Showtime showtime) {
-        // Generate seats for a standard cinema layout
-        // 12 rows (A-L) × 12 seats per row = 144 total seats
-        for (char row = 'A'; row <= 'L'; row++) {
-            for (int seatNum = 1; seatNum <= 12; seatNum++) {
-                String seatNumber = row + String.valueOf(seatNum);
-                Seat seat = Seat.builder()
-                        .showtime(showtime)
-                        .seatNumber(seatNumber)
-                        .isBooked(false)
-                        .build();
-                save(seat);
+        generateSeatsForShowtimes(List.of(showtime));
+    }
+
+    // Materializes seats for many showtimes at once: one INSERT ... SELECT per showtime over its
+    // theater's layout, sent to the database as one JDBC batch per distinct layout.
+    @Transactional
+    public void generateSeatsForShowtimes(List<Showtime> showtimes) {
+        if (showtimes.isEmpty()) {
+            return;
+        }
+        Map<SeatLayout, List<Showtime>> byLayout = new LinkedHashMap<>();
+        for (Showtime showtime : showtimes) {
+            byLayout.computeIfAbsent(seatLayoutService.forShowtime(showtime), layout -> new ArrayList<>()).add(showtime);
+        }
+        byLayout.forEach((layout, group) -> {
+            if (layout.getCapacity() == 0) {
+                return;
+            }
+            jdbcTemplate.batchUpdate(layoutInsert(layout), group, group.size(),
+                (ps, showtime) -> ps.setLong(1, showtime.getId()));
+            jdbcTemplate.batchUpdate("UPDATE showtimes SET seats_total = ?, seats_booked = 0 WHERE id = ?",
+                group, group.size(), (ps, showtime) -> {
+                    ps.setInt(1, layout.getCapacity());
+                    ps.setLong(2, showtime.getId());
+                });
+        });
+        
+        // Drop any cached (empty) bitmaps and counters once the new seats are visible to other readers
+        afterCommit(() -> showtimes.forEach(showtime -> {
+            seatInventory.evict(showtime.getId());
+            seatCounterService.forget(showtime.getId());
+        }));
+    }
+
+    // Runs the action once the surrounding transaction commits, or immediately outside one
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Unsaved, all-free seats of the theater's layout, for showtimes whose seats are not generated yet
+    public List<Seat> emptyLayout(Showtime showtime) {
+        List<String> seatNumbers = seatLayoutService.forShowtime(showtime).seatNumbers();
+        List<Seat> seats = new ArrayList<>(seatNumbers.size());
+        for (String seatNumber : seatNumbers) {
+            seats.add(Seat.builder()
+                    .showtime(showtime)
+                    .seatNumber(seatNumber)
+                    .isBooked(false)
+                    .build());
+        }
+        return seats;
+    }
+
+    // One INSERT ... SELECT FROM (VALUES ...) per layout, built once and reused
+    private String layoutInsert(SeatLayout layout) {
+        return layoutInserts.computeIfAbsent(layout, SeatService::buildLayoutInsert);
+    }
+
+    private static String buildLayoutInsert(SeatLayout layout) {
+        StringBuilder sql = new StringBuilder(
+            "INSERT INTO seats (showtime_id, seat_number, is_booked) " +
+            "SELECT ?, layout.seat_number, FALSE FROM (VALUES ");
+        List<String> seatNumbers = layout.seatNumbers();
+        for (int i = 0; i < seatNumbers.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
             }
+            sql.append("('").append(seatNumbers.get(i)).append("')");
         }
+        return sql.append(") AS layout(seat_number)").toString();
     }
 }
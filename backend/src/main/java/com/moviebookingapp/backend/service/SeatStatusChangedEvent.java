@@ -0,0 +1,15 @@
+package com.moviebookingapp.backend.service;
+
+import java.util.List;
+
+/**
+ * Published synchronously whenever seats of a showtime change state in memory: after a booking
+ * or cancellation commits (SeatInventory) and when holds are placed, released or expire
+ * (SeatHoldService). Listeners must be cheap; they run on the thread making the change.
+ */
+public record SeatStatusChangedEvent(Long showtimeId, List<String> seatNumbers, Status status) {
+
+    public enum Status {
+        FREE, HELD, BOOKED
+    }
+}
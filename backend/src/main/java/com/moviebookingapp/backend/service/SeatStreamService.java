@@ -0,0 +1,256 @@
+package com.moviebookingapp.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moviebookingapp.backend.entity.Showtime;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Live seat-map push over Server-Sent Events. Each subscriber first gets a snapshot built from
+ * the in-memory seat map and holds, then "delta" frames of seat -> FREE/HELD/BOOKED.
+ * <p>
+ * Changes of one showtime are coalesced for coalesceMs and serialized once into a single frame
+ * that is fanned out to every subscriber. Each subscriber has a bounded frame queue drained by
+ * the seatStreamExecutor; when it overflows the queue is dropped and replaced by a fresh
+ * snapshot, and a subscriber that needs more than maxResyncs resyncs is disconnected.
+ */
+@Service
+public class SeatStreamService {
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("seatStreamExecutor")
+    private TaskExecutor executor;
+
+    @Value("${seat.stream.coalesce-ms:25}")
+    private long coalesceMs;
+
+    @Value("${seat.stream.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${seat.stream.max-resyncs:3}")
+    private int maxResyncs;
+
+    @Value("${seat.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "seat-stream-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        flusher.shutdownNow();
+        channels.values().forEach(channel -> channel.subscribers.forEach(Subscriber::close));
+    }
+
+    public SseEmitter subscribe(Showtime showtime) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Long showtimeId = showtime.getId();
+        Subscriber subscriber = new Subscriber(emitter, () -> snapshot(showtime));
+        Channel channel = channels.computeIfAbsent(showtimeId, id -> new Channel());
+        channel.subscribers.add(subscriber);
+
+        Runnable unsubscribe = () -> unsubscribe(showtimeId, subscriber);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+
+        // Registered before the snapshot is taken, so no change can fall between the two
+        subscriber.requestSnapshot();
+        return emitter;
+    }
+
+    public int subscriberCount(Long showtimeId) {
+        Channel channel = channels.get(showtimeId);
+        return channel == null ? 0 : channel.subscribers.size();
+    }
+
+    @EventListener
+    public void onSeatStatusChanged(SeatStatusChangedEvent event) {
+        Channel channel = channels.get(event.showtimeId());
+        if (channel == null || channel.subscribers.isEmpty()) {
+            return; // Nobody watching: no work at all
+        }
+        synchronized (channel) {
+            for (String seatNumber : event.seatNumbers()) {
+                channel.pending.put(seatNumber, event.status());
+            }
+            if (!channel.flushScheduled) {
+                channel.flushScheduled = true;
+                flusher.schedule(() -> flush(channel), coalesceMs, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    // State may have changed without deltas; every subscriber starts again from a snapshot
+    @EventListener
+    public void onSeatMapReset(SeatMapResetEvent event) {
+        Channel channel = channels.get(event.showtimeId());
+        if (channel != null) {
+            channel.subscribers.forEach(Subscriber::requestSnapshot);
+        }
+    }
+
+    private void flush(Channel channel) {
+        Map<String, SeatStatusChangedEvent.Status> changes;
+        synchronized (channel) {
+            changes = new LinkedHashMap<>(channel.pending);
+            channel.pending.clear();
+            channel.flushScheduled = false;
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+        String frame;
+        try {
+            // Serialized once, whatever the number of subscribers
+            frame = objectMapper.writeValueAsString(Map.of("type", "delta", "seats", changes));
+        } catch (JsonProcessingException e) {
+            channel.subscribers.forEach(Subscriber::requestSnapshot);
+            return;
+        }
+        for (Subscriber subscriber : channel.subscribers) {
+            subscriber.offer(frame);
+        }
+    }
+
+    private Map<String, Object> snapshot(Showtime showtime) {
+        return Map.of(
+            "type", "snapshot",
+            "showtimeId", showtime.getId(),
+            "availableSeats", seatService.findAvailableSeats(showtime),
+            "heldSeats", seatService.findHeldSeats(showtime)
+        );
+    }
+
+    private void unsubscribe(Long showtimeId, Subscriber subscriber) {
+        channels.computeIfPresent(showtimeId, (id, channel) -> {
+            channel.subscribers.remove(subscriber);
+            return channel.subscribers.isEmpty() ? null : channel;
+        });
+    }
+
+    private static final class Channel {
+        private final Set<Subscriber> subscribers = new CopyOnWriteArraySet<>();
+        // Latest status per seat since the last flush; guarded by the channel monitor
+        private final Map<String, SeatStatusChangedEvent.Status> pending = new LinkedHashMap<>();
+        private boolean flushScheduled;
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Supplier<Map<String, Object>> snapshot;
+        private final BlockingQueue<String> frames = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean resync = new AtomicBoolean();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile int resyncs;
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, Supplier<Map<String, Object>> snapshot) {
+            this.emitter = emitter;
+            this.snapshot = snapshot;
+        }
+
+        void offer(String frame) {
+            if (closed) {
+                return;
+            }
+            if (!frames.offer(frame)) {
+                // Too slow to keep up: throw the backlog away and send current state instead
+                if (++resyncs > maxResyncs) {
+                    close();
+                    return;
+                }
+                resync.set(true);
+            }
+            scheduleDrain();
+        }
+
+        void requestSnapshot() {
+            resync.set(true);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executor.execute(this::drain);
+            } catch (RuntimeException e) {
+                // Sender pool saturated; shed this subscriber rather than queue without bound
+                close();
+            }
+        }
+
+        // Only one drain runs at a time per subscriber, so sends are never interleaved
+        private void drain() {
+            try {
+                while (!closed) {
+                    if (resync.getAndSet(false)) {
+                        frames.clear();
+                        emitter.send(SseEmitter.event().name("snapshot").data(snapshot.get(), MediaType.APPLICATION_JSON));
+                        continue;
+                    }
+                    String frame = frames.poll();
+                    if (frame == null) {
+                        draining.set(false);
+                        // Re-check: work may have arrived after the poll but before the flag was cleared
+                        if ((frames.isEmpty() && !resync.get()) || !draining.compareAndSet(false, true)) {
+                            return;
+                        }
+                        continue;
+                    }
+                    emitter.send(SseEmitter.event().name("delta").data(frame));
+                }
+            } catch (IOException | RuntimeException e) {
+                close();
+            }
+        }
+
+        void close() {
+            if (!closed) {
+                closed = true;
+                frames.clear();
+                emitter.complete();
+            }
+        }
+    }
+}
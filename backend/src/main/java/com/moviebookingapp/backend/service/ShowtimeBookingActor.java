@@ -0,0 +1,133 @@
+package com.moviebookingapp.backend.service;
+
+import com.moviebookingapp.backend.entity.Booking;
+import com.moviebookingapp.backend.entity.Showtime;
+import com.moviebookingapp.backend.entity.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Single-writer mailbox for one showtime. Commands are queued lock-free and drained in batches
+ * by at most one pool thread at a time, so the batch handler never runs concurrently for the
+ * same showtime and needs no seat-level locking.
+ * <p>
+ * Once a drain leaves the mailbox empty the actor tells its owner, which may retire it. A
+ * retired actor refuses new commands, so the owner can drop it without a second actor ever
+ * running alongside it for the same showtime.
+ */
+final class ShowtimeBookingActor {
+
+    sealed interface Command permits Claim, Cancel {
+        void fail(Throwable error);
+    }
+
+    // holdId is the hold being confirmed, or null
+    record Claim(User user, Showtime showtime, List<String> seatNumbers, String holdId,
+                 CompletableFuture<Booking> result) implements Command {
+        @Override
+        public void fail(Throwable error) {
+            result.completeExceptionally(error);
+        }
+    }
+
+    record Cancel(Booking booking, CompletableFuture<List<String>> result) implements Command {
+        @Override
+        public void fail(Throwable error) {
+            result.completeExceptionally(error);
+        }
+    }
+
+    private static final int RETIRED = -1;
+
+    private final ConcurrentLinkedQueue<Command> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    // Commands accepted but not yet handled, or RETIRED
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Executor executor;
+    private final int maxBatch;
+    private final Consumer<List<Command>> batchHandler;
+    private final Runnable onIdle;
+
+    ShowtimeBookingActor(Executor executor, int maxBatch, Consumer<List<Command>> batchHandler, Runnable onIdle) {
+        this.executor = executor;
+        this.maxBatch = maxBatch;
+        this.batchHandler = batchHandler;
+        this.onIdle = onIdle;
+    }
+
+    // False if the actor has been retired; the caller must use a fresh one
+    boolean submit(Command command) {
+        int count;
+        do {
+            count = pending.get();
+            if (count == RETIRED) {
+                return false;
+            }
+        } while (!pending.compareAndSet(count, count + 1));
+        mailbox.add(command);
+        schedule();
+        return true;
+    }
+
+    // Only succeeds while nothing is queued or being handled
+    boolean tryRetire() {
+        return pending.compareAndSet(0, RETIRED);
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RuntimeException e) {
+                scheduled.set(false);
+                failAll(e);
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            List<Command> batch = new ArrayList<>(maxBatch);
+            Command command;
+            while (batch.size() < maxBatch && (command = mailbox.poll()) != null) {
+                batch.add(command);
+            }
+            if (!batch.isEmpty()) {
+                try {
+                    batchHandler.accept(batch);
+                } catch (RuntimeException e) {
+                    batch.forEach(c -> c.fail(e));
+                } finally {
+                    pending.addAndGet(-batch.size());
+                }
+            }
+        } finally {
+            scheduled.set(false);
+            // Commands that arrived while we were busy need another turn
+            if (!mailbox.isEmpty()) {
+                schedule();
+            } else if (pending.get() == 0) {
+                onIdle.run();
+            }
+        }
+    }
+
+    private void failAll(Throwable error) {
+        Command command;
+        while ((command = mailbox.poll()) != null) {
+            pending.decrementAndGet();
+            command.fail(error);
+        }
+    }
+
+    int queued() {
+        return mailbox.size();
+    }
+}
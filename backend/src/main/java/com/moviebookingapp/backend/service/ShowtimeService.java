@@ -1,9 +1,7 @@
 package com.moviebookingapp.backend.service;
 
 import com.moviebookingapp.backend.entity.Showtime;
-import com.moviebookingapp.backend.entity.Seat;
 import com.moviebookingapp.backend.repository.ShowtimeRepository;
-import com.moviebookingapp.backend.repository.SeatRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.util.List;
@@ -15,20 +13,23 @@ public class ShowtimeService {
     private ShowtimeRepository showtimeRepository;
     
     @Autowired
-    private SeatRepository seatRepository;
+    private SeatCounterService seatCounterService;
+    
+    @Autowired
+    private CatalogCache catalogCache;
 
     public List<Showtime> findAll() {
-        List<Showtime> showtimes = showtimeRepository.findAll();
-        // Sort by show time for better user experience
-        showtimes.sort((s1, s2) -> s1.getShowTime().compareTo(s2.getShowTime()));
-        return calculateAvailableSeats(showtimes);
+        // Sorted by show time in the database for better user experience. The rows are cached;
+        // each caller gets copies with current seat availability
+        List<Showtime> showtimes = catalogCache.get(CatalogCache.SHOWTIMES, showtimeRepository::findAllOrderByShowTime);
+        return calculateAvailableSeats(showtimes.stream().map(ShowtimeService::copy).toList());
     }
 
     public Optional<Showtime> findById(Long id) {
         Optional<Showtime> showtimeOpt = showtimeRepository.findById(id);
         if (showtimeOpt.isPresent()) {
             Showtime showtime = showtimeOpt.get();
-            calculateAvailableSeats(showtime);
+            calculateAvailableSeats(List.of(showtime));
             return Optional.of(showtime);
         }
         return Optional.empty();
@@ -40,6 +41,7 @@ public class ShowtimeService {
     
     public void deleteById(Long id) {
         showtimeRepository.deleteById(id);
+        seatCounterService.forget(id);
     }
     
     public List<Showtime> findByMovieId(Long movieId) {
@@ -47,30 +49,24 @@ public class ShowtimeService {
         return calculateAvailableSeats(showtimes);
     }
     
-    // Calculate available seats for a list of showtimes
+    // Available seats come from the denormalized counters; no seat rows are read
     private List<Showtime> calculateAvailableSeats(List<Showtime> showtimes) {
+        seatCounterService.seed(showtimes.stream().map(Showtime::getId).toList());
         for (Showtime showtime : showtimes) {
-            calculateAvailableSeats(showtime);
+            showtime.setAvailableSeats(seatCounterService.availableSeats(showtime));
         }
         return showtimes;
     }
     
-    // Calculate available seats for a single showtime
-    private void calculateAvailableSeats(Showtime showtime) {
-        Integer availableSeatsFromRepo = seatRepository.countAvailableSeats(showtime);
-        if (availableSeatsFromRepo == null || availableSeatsFromRepo == 0) {
-            // If no seat data exists, check if any seats exist at all
-            List<Seat> existingSeats = seatRepository.findByShowtimeOrderBySeatNumber(showtime);
-            if (existingSeats.isEmpty()) {
-                // No seats generated yet, show total capacity as available
-                showtime.setAvailableSeats(showtime.getTotalSeats());
-            } else {
-                // Seats exist but all are booked, show 0
-                showtime.setAvailableSeats(0);
-            }
-        } else {
-            // Use the count from repository (this is already available seats count)
-            showtime.setAvailableSeats(availableSeatsFromRepo);
-        }
+    private static Showtime copy(Showtime showtime) {
+        return Showtime.builder()
+            .id(showtime.getId())
+            .movie(showtime.getMovie())
+            .theater(showtime.getTheater())
+            .showTime(showtime.getShowTime())
+            .seatsTotal(showtime.getSeatsTotal())
+            .seatsBooked(showtime.getSeatsBooked())
+            .seatsHeld(showtime.getSeatsHeld())
+            .build();
     }
 }
@@ -5,6 +5,7 @@ import com.moviebookingapp.backend.repository.TheaterRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,20 +14,41 @@ public class TheaterService {
     
     @Autowired
     private TheaterRepository theaterRepository;
+    
+    @Autowired
+    private SeatLayoutService seatLayoutService;
+    
+    @Autowired
+    private CatalogCache catalogCache;
 
+    // Showtimes are fetched with the theaters, as the cached lists are serialized outside a session
     public List<Theater> findAll() {
-        return theaterRepository.findAll();
+        return catalogCache.get(CatalogCache.THEATERS, theaterRepository::findAllWithShowtimes);
     }
 
     public List<Theater> findActiveTheaters() {
-        return theaterRepository.findActiveTheatersOrderByName();
+        return catalogCache.get(CatalogCache.ACTIVE_THEATERS, theaterRepository::findActiveWithShowtimesOrderByName);
     }
 
     public Optional<Theater> findById(Long id) {
         return theaterRepository.findById(id);
     }
 
+    // An explicit layout is validated and defines the capacity; otherwise totalSeats does, and
+    // the standard layout it implies is validated the same way
     public Theater save(Theater theater) {
+        if (theater.getSeatLayout() != null && !theater.getSeatLayout().isBlank()) {
+            SeatLayout layout = seatLayoutService.parse(theater.getSeatLayout());
+            theater.setSeatLayout(layout.getSpec());
+            theater.setTotalSeats(layout.getCapacity());
+        } else if (theater.getTotalSeats() != null) {
+            int totalSeats = theater.getTotalSeats();
+            if (totalSeats <= 0 || totalSeats > SeatLayout.MAX_STANDARD_SEATS) {
+                throw new IllegalArgumentException("Total seats must be between 1 and "
+                    + SeatLayout.MAX_STANDARD_SEATS + " without a seat layout");
+            }
+            seatLayoutService.parse(SeatLayout.standardSpec(totalSeats));
+        }
         return theaterRepository.save(theater);
     }
     
@@ -56,6 +78,7 @@ public class TheaterService {
             Theater theater2 = Theater.builder()
                     .name("Theater 2")
                     .description("Premium Theater with Dolby Atmos")
+                    .seatLayout(rows("SSSSSSSSSSSS", 10) + "/" + rows("PPPPPPPPPPPP", 2)) // Premium back rows
                     .totalSeats(144)
                     .isActive(true)
                     .build();
@@ -63,6 +86,7 @@ public class TheaterService {
             Theater imaxTheater = Theater.builder()
                     .name("IMAX Screen")
                     .description("IMAX Experience with 4K Projection")
+                    .seatLayout(rows("SSS.SSSSSSSSS.SSS", 10) + "/" + rows("PPP.PPPPPPPPP.PPP", 2)) // 15 seats, two aisles
                     .totalSeats(180) // Larger IMAX theater
                     .isActive(true)
                     .build();
@@ -70,6 +94,7 @@ public class TheaterService {
             Theater vipTheater = Theater.builder()
                     .name("VIP Hall")
                     .description("Luxury Recliner Seats with Premium Service")
+                    .seatLayout(rows("RRRRRR.RRRRRR", 8)) // 12 recliners, centre aisle
                     .totalSeats(96) // Smaller VIP theater
                     .isActive(true)
                     .build();
@@ -80,4 +105,8 @@ public class TheaterService {
             save(vipTheater);
         }
     }
+
+    private static String rows(String row, int count) {
+        return String.join("/", Collections.nCopies(count, row));
+    }
 }
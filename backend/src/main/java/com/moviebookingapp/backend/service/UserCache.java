@@ -0,0 +1,167 @@
+package com.moviebookingapp.backend.service;
+
+import com.moviebookingapp.backend.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process cache of user rows, by username and by id. Entries expire ttlSeconds after
+ * loading and the least recently used are evicted past maxEntries. Callers always get their own
+ * copy, so a caller modifying a User cannot change what others see. Misses are not cached, so a
+ * newly registered user is found at once; changes are dropped on UserChangedEvent.
+ */
+@Component
+public class UserCache {
+
+    @Value("${user.cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${user.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private record Entry(User user, long expiresAtMillis) {
+    }
+
+    // Access-ordered for LRU eviction; both maps are guarded by the byUsername monitor
+    private final LinkedHashMap<String, Entry> byUsername = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<Long, String> usernameById = new HashMap<>();
+    // Bumped on every invalidation; a load that raced with one is not cached
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public Optional<User> getByUsername(String username, Supplier<Optional<User>> loader) {
+        User cached;
+        synchronized (byUsername) {
+            cached = fresh(username);
+        }
+        return cached != null ? hit(cached) : load(loader);
+    }
+
+    public Optional<User> getById(Long id, Supplier<Optional<User>> loader) {
+        User cached = null;
+        synchronized (byUsername) {
+            String username = usernameById.get(id);
+            if (username != null) {
+                cached = fresh(username);
+            }
+        }
+        return cached != null ? hit(cached) : load(loader);
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        synchronized (byUsername) {
+            generation++;
+            if (event.username() != null) {
+                remove(event.username());
+            }
+            if (event.userId() != null) {
+                String username = usernameById.get(event.userId());
+                if (username != null) {
+                    remove(username);
+                }
+            }
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        int size;
+        synchronized (byUsername) {
+            size = byUsername.size();
+        }
+        return Map.of(
+            "size", size,
+            "hits", hitCount,
+            "misses", missCount,
+            "evictions", evictions.sum(),
+            "hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount)
+        );
+    }
+
+    private Optional<User> hit(User cached) {
+        hits.increment();
+        return Optional.of(copy(cached));
+    }
+
+    private Optional<User> load(Supplier<Optional<User>> loader) {
+        misses.increment();
+        long loadGeneration;
+        synchronized (byUsername) {
+            loadGeneration = generation;
+        }
+        Optional<User> loaded = loader.get();
+        loaded.ifPresent(user -> put(user, loadGeneration));
+        return loaded;
+    }
+
+    private void put(User user, long loadGeneration) {
+        if (user.getId() == null || user.getUsername() == null) {
+            return;
+        }
+        Entry entry = new Entry(copy(user), System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(ttlSeconds));
+        synchronized (byUsername) {
+            if (generation != loadGeneration) {
+                return;
+            }
+            String previous = usernameById.put(user.getId(), user.getUsername());
+            if (previous != null && !previous.equals(user.getUsername())) {
+                byUsername.remove(previous); // Renamed
+            }
+            byUsername.put(user.getUsername(), entry);
+            Iterator<Map.Entry<String, Entry>> it = byUsername.entrySet().iterator();
+            while (byUsername.size() > maxEntries && it.hasNext()) {
+                Entry eldest = it.next().getValue();
+                usernameById.remove(eldest.user().getId());
+                it.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    // Caller holds the monitor
+    private User fresh(String username) {
+        Entry entry = byUsername.get(username);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            remove(username);
+            evictions.increment();
+            return null;
+        }
+        return entry.user();
+    }
+
+    // Caller holds the monitor
+    private void remove(String username) {
+        Entry entry = byUsername.remove(username);
+        if (entry != null) {
+            usernameById.remove(entry.user().getId(), username);
+        }
+    }
+
+    private static User copy(User user) {
+        return User.builder()
+            .id(user.getId())
+            .username(user.getUsername())
+            .password(user.getPassword())
+            .email(user.getEmail())
+            .role(user.getRole())
+            .build();
+    }
+}
@@ -0,0 +1,8 @@
+package com.moviebookingapp.backend.service;
+
+/**
+ * Published synchronously by UserService after a user row is saved or deleted, so in-process
+ * copies of the user (UserCache) can be dropped. Either field may be null if unknown.
+ */
+public record UserChangedEvent(Long userId, String username, boolean deleted) {
+}
@@ -1,13 +1,16 @@
 package com.moviebookingapp.backend.service;
 
 import com.moviebookingapp.backend.entity.User;
+import com.moviebookingapp.backend.exception.DuplicateUserException;
 import com.moviebookingapp.backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -16,10 +19,20 @@ public class UserService implements UserDetailsService {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public Optional<User> findByUsername(String username) {
-        return userRepository.findByUsername(username);
+        return userCache.getByUsername(username, () -> userRepository.findByUsername(username));
+    }
+    
+    public Optional<User> findById(Long id) {
+        return userCache.getById(id, () -> userRepository.findById(id));
     }
     
     public Optional<User> findByEmail(String email) {
@@ -27,8 +40,54 @@ public class UserService implements UserDetailsService {
     }
 
     public User save(User user) {
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+        user.setPassword(passwordHashingService.hash(user.getPassword()));
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(saved.getId(), saved.getUsername(), false));
+        return saved;
+    }
+    
+    // New account in a single INSERT; the unique constraints reject a taken username or email
+    public User register(User user) {
+        try {
+            user.setPassword(passwordHashingService.hash(user.getPassword()));
+            User saved = userRepository.saveAndFlush(user);
+            eventPublisher.publishEvent(new UserChangedEvent(saved.getId(), saved.getUsername(), false));
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateUserException(duplicateField(e, user));
+        }
+    }
+    
+    // Named by our constraints; databases created before them (ddl-auto=update) may still have
+    // auto-named unique indexes that fire first, so anything else is checked with a lookup
+    private String duplicateField(DataIntegrityViolationException e, User user) {
+        String message = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase();
+        if (message.contains("uk_users_email")) {
+            return "email";
+        }
+        if (message.contains("uk_users_username")) {
+            return "username";
+        }
+        return user.getEmail() != null && userRepository.existsByEmail(user.getEmail()) ? "email" : "username";
+    }
+    
+    // Verifies on the hashing pool; a hash below the current strength is replaced in the background
+    public boolean checkPassword(User user, String rawPassword) {
+        String storedHash = user.getPassword();
+        if (!passwordHashingService.matches(rawPassword, storedHash)) {
+            return false;
+        }
+        if (passwordHashingService.needsUpgrade(storedHash)) {
+            passwordHashingService.hashInBackground(rawPassword,
+                newHash -> replacePasswordHash(user, storedHash, newHash));
+        }
+        return true;
+    }
+    
+    public void replacePasswordHash(User user, String oldHash, String newHash) {
+        if (userRepository.replacePasswordHash(user.getId(), oldHash, newHash) > 0) {
+            eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getUsername(), false));
+        }
     }
     
     public List<User> findAll() {
@@ -39,6 +98,7 @@ public class UserService implements UserDetailsService {
     // Security enforced at controller level
     public void deleteUserById(Long id) {
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new UserChangedEvent(id, null, true));
     }
     
     // USER-SCOPED - Delete current user's own account
@@ -46,6 +106,7 @@ public class UserService implements UserDetailsService {
         Optional<User> user = findByUsername(currentUsername);
         if (user.isPresent()) {
             userRepository.deleteById(user.get().getId());
+            eventPublisher.publishEvent(new UserChangedEvent(user.get().getId(), currentUsername, true));
         } else {
             throw new RuntimeException("User not found: " + currentUsername);
         }
@@ -54,6 +115,11 @@ public class UserService implements UserDetailsService {
     // INTERNAL - For test cleanup only (bypasses security)
     public void deleteUserByIdInternal(Long id) {
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new UserChangedEvent(id, null, true));
+    }
+    
+    public Map<String, Object> cacheStats() {
+        return userCache.stats();
     }
     
     // Create admin user
@@ -64,12 +130,12 @@ public class UserService implements UserDetailsService {
                 .email(email)
                 .role("ADMIN")
                 .build();
-        return save(adminUser);
+        return register(adminUser);
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) {
-        User user = userRepository.findByUsername(username)
+        User user = findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found: " + username));
         
         return org.springframework.security.core.userdetails.User.withUsername(user.getUsername())
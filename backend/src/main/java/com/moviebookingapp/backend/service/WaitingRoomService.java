@@ -0,0 +1,331 @@
+package com.moviebookingapp.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-showtime admission control for hot on-sales. Up to maxActive visitors may use a showtime's
+ * seat and booking endpoints at once; a visitor counts as active until idle for idleSeconds.
+ * Past that, new visitors get a queue ticket and are admitted in FIFO order, at most
+ * admitPerSecond and only as active slots free up.
+ * <p>
+ * All state is in memory. Joining, admitting and computing a position are O(1): positions are
+ * the distance between a ticket's sequence number and the last admitted one. Rooms of quiet
+ * showtimes are dropped on the next tick.
+ */
+@Service
+public class WaitingRoomService {
+
+    public static final String TOKEN_HEADER = "X-Queue-Token";
+
+    @Autowired
+    @Qualifier("seatStreamExecutor")
+    private TaskExecutor executor;
+
+    @Value("${waiting-room.max-active:200}")
+    private int maxActive;
+
+    @Value("${waiting-room.idle-seconds:120}")
+    private long idleSeconds;
+
+    @Value("${waiting-room.admit-per-second:20}")
+    private int admitPerSecond;
+
+    @Value("${waiting-room.max-queue:50000}")
+    private int maxQueue;
+
+    @Value("${waiting-room.ticket-ttl-seconds:60}")
+    private long ticketTtlSeconds;
+
+    @Value("${waiting-room.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${waiting-room.stream-timeout-ms:1800000}")
+    private long streamTimeoutMs;
+
+    public enum Status {
+        ADMITTED, WAITING, FULL
+    }
+
+    public record Admission(Status status, String token, long position, long estimatedWaitSeconds) {
+
+        public boolean isAdmitted() {
+            return status == Status.ADMITTED;
+        }
+    }
+
+    private final Map<Long, Room> rooms = new ConcurrentHashMap<>();
+    private final LongAdder admittedTotal = new LongAdder();
+
+    // Who is asking: their queue token if they have one, else the logged-in user, else the client IP
+    public String visitorId(HttpServletRequest request) {
+        String token = request.getHeader(TOKEN_HEADER);
+        if (token != null && !token.isBlank()) {
+            return token;
+        }
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken)) {
+            return "user:" + auth.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    // A visitor without the X-Queue-Token header is matched to the ticket it was given before,
+    // so repeating a request never queues it again
+    public Admission enter(Long showtimeId, String visitorId) {
+        long now = System.currentTimeMillis();
+        Room room = rooms.get(showtimeId);
+        if (room == null) {
+            room = rooms.computeIfAbsent(showtimeId, id -> new Room());
+        }
+        String key = room.tokensByVisitor.getOrDefault(visitorId, visitorId);
+        if (room.active.computeIfPresent(key, (id, lastSeen) -> now) != null) {
+            return new Admission(Status.ADMITTED, null, 0, 0);
+        }
+        Ticket existing = room.tickets.get(key);
+        if (existing != null) {
+            existing.lastSeen = now;
+            return admission(room, existing);
+        }
+        synchronized (room) {
+            if (room.closed) {
+                return enter(showtimeId, visitorId); // Dropped by the ticker just now; use its replacement
+            }
+            // Another request of the same visitor may have been queued meanwhile
+            String token = room.tokensByVisitor.get(visitorId);
+            Ticket queued = token == null ? null : room.tickets.get(token);
+            if (queued != null) {
+                queued.lastSeen = now;
+                return admission(room, queued);
+            }
+            if (room.queue.isEmpty() && room.active.size() < maxActive) {
+                room.active.put(visitorId, now);
+                return new Admission(Status.ADMITTED, null, 0, 0);
+            }
+            if (room.queue.size() >= maxQueue) {
+                return new Admission(Status.FULL, null, 0, 0);
+            }
+            Ticket ticket = new Ticket(UUID.randomUUID().toString(), visitorId, room.tailSeq++, now);
+            room.queue.addLast(ticket);
+            room.tickets.put(ticket.token, ticket);
+            room.tokensByVisitor.put(visitorId, ticket.token);
+            return admission(room, ticket);
+        }
+    }
+
+    public Optional<Admission> status(Long showtimeId, String token) {
+        Room room = rooms.get(showtimeId);
+        if (room == null) {
+            return Optional.empty();
+        }
+        if (room.active.computeIfPresent(token, (id, lastSeen) -> System.currentTimeMillis()) != null) {
+            return Optional.of(new Admission(Status.ADMITTED, token, 0, 0));
+        }
+        Ticket ticket = room.tickets.get(token);
+        if (ticket == null) {
+            return Optional.empty();
+        }
+        ticket.lastSeen = System.currentTimeMillis();
+        return Optional.of(admission(room, ticket));
+    }
+
+    // Pushes "position" events every tick and one "admitted" event, then completes
+    public Optional<SseEmitter> watch(Long showtimeId, String token) {
+        Room room = rooms.get(showtimeId);
+        Ticket ticket = room == null ? null : room.tickets.get(token);
+        if (ticket == null) {
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        ticket.emitter = emitter;
+        Runnable detach = () -> {
+            ticket.emitter = null;
+            room.watchers.remove(ticket);
+        };
+        emitter.onCompletion(detach);
+        emitter.onTimeout(detach);
+        emitter.onError(error -> detach.run());
+        room.watchers.add(ticket);
+        push(room, ticket);
+        return Optional.of(emitter);
+    }
+
+    @Scheduled(fixedDelayString = "${waiting-room.tick-ms:1000}")
+    public void tick() {
+        long now = System.currentTimeMillis();
+        long idleBefore = now - idleSeconds * 1000;
+        long abandonedBefore = now - ticketTtlSeconds * 1000;
+        int perTick = (int) Math.max(1, admitPerSecond * tickMs / 1000);
+
+        for (Map.Entry<Long, Room> entry : rooms.entrySet()) {
+            Room room = entry.getValue();
+            room.active.values().removeIf(lastSeen -> lastSeen < idleBefore);
+            // Admitted visitors keep their id -> token mapping until the token goes idle
+            room.tokensByVisitor.values().removeIf(token -> !room.active.containsKey(token) && !room.tickets.containsKey(token));
+
+            int admitted = 0;
+            synchronized (room) {
+                int slots = Math.min(perTick, maxActive - room.active.size());
+                while (admitted < slots && !room.queue.isEmpty()) {
+                    Ticket ticket = room.queue.pollFirst();
+                    room.headSeq = ticket.seq + 1;
+                    if (ticket.lastSeen < abandonedBefore && ticket.emitter == null) {
+                        room.tickets.remove(ticket.token); // Stopped polling; skip without using a slot
+                        room.tokensByVisitor.remove(ticket.visitorId, ticket.token);
+                        continue;
+                    }
+                    ticket.admitted = true;
+                    room.active.put(ticket.token, now);
+                    room.tickets.remove(ticket.token);
+                    admitted++;
+                }
+                if (room.queue.isEmpty() && room.active.isEmpty() && room.watchers.isEmpty()) {
+                    room.closed = true;
+                    rooms.remove(entry.getKey(), room);
+                }
+            }
+            room.lastTickAdmitted = admitted;
+            room.admitted.add(admitted);
+            admittedTotal.add(admitted);
+
+            for (Ticket ticket : room.watchers) {
+                push(room, ticket);
+            }
+        }
+    }
+
+    // Body of the 503 sent to visitors who are not admitted
+    public static Map<String, Object> queuedBody(Admission admission) {
+        return Map.of(
+            "error", admission.status() == Status.FULL
+                ? "Waiting room is full, please try again later"
+                : "High demand: you are in the waiting room",
+            "waitingRoom", admission
+        );
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> showtimes = new LinkedHashMap<>();
+        long queued = 0;
+        long active = 0;
+        for (Map.Entry<Long, Room> entry : rooms.entrySet()) {
+            Room room = entry.getValue();
+            int depth;
+            synchronized (room) {
+                depth = room.queue.size();
+            }
+            queued += depth;
+            active += room.active.size();
+            showtimes.put(entry.getKey().toString(), Map.of(
+                "queueDepth", depth,
+                "active", room.active.size(),
+                "admittedTotal", room.admitted.sum(),
+                "admitRatePerSecond", room.lastTickAdmitted * 1000.0 / tickMs
+            ));
+        }
+        return Map.of(
+            "queueDepth", queued,
+            "active", active,
+            "admittedTotal", admittedTotal.sum(),
+            "maxActive", maxActive,
+            "admitPerSecond", admitPerSecond,
+            "showtimes", showtimes
+        );
+    }
+
+    @PreDestroy
+    void stop() {
+        rooms.values().forEach(room -> room.watchers.forEach(ticket -> {
+            SseEmitter emitter = ticket.emitter;
+            if (emitter != null) {
+                emitter.complete();
+            }
+        }));
+    }
+
+    private Admission admission(Room room, Ticket ticket) {
+        if (ticket.admitted) {
+            return new Admission(Status.ADMITTED, ticket.token, 0, 0);
+        }
+        long position = Math.max(1, ticket.seq - room.headSeq + 1);
+        return new Admission(Status.WAITING, ticket.token, position, (position + admitPerSecond - 1) / admitPerSecond);
+    }
+
+    private void push(Room room, Ticket ticket) {
+        SseEmitter emitter = ticket.emitter;
+        if (emitter == null) {
+            return;
+        }
+        Admission admission = admission(room, ticket);
+        try {
+            executor.execute(() -> {
+                try {
+                    emitter.send(SseEmitter.event()
+                        .name(admission.isAdmitted() ? "admitted" : "position")
+                        .data(admission, MediaType.APPLICATION_JSON));
+                    if (admission.isAdmitted()) {
+                        emitter.complete();
+                    }
+                } catch (IOException | RuntimeException e) {
+                    emitter.completeWithError(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Sender pool saturated; the client can still poll
+            emitter.complete();
+        }
+    }
+
+    private static final class Room {
+        // Visitor id -> last request time (millis)
+        private final Map<String, Long> active = new ConcurrentHashMap<>();
+        // Waiting tickets in arrival order; the deque and sequence numbers are guarded by the room monitor
+        private final ArrayDeque<Ticket> queue = new ArrayDeque<>();
+        private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+        // Visitor id the ticket was issued to -> its token
+        private final Map<String, String> tokensByVisitor = new ConcurrentHashMap<>();
+        private final Set<Ticket> watchers = ConcurrentHashMap.newKeySet();
+        private final LongAdder admitted = new LongAdder();
+        private volatile long headSeq;
+        private long tailSeq;
+        private boolean closed;
+        private volatile int lastTickAdmitted;
+    }
+
+    private static final class Ticket {
+        private final String token;
+        private final String visitorId;
+        private final long seq;
+        private volatile long lastSeen;
+        private volatile boolean admitted;
+        private volatile SseEmitter emitter;
+
+        Ticket(String token, String visitorId, long seq, long lastSeen) {
+            this.token = token;
+            this.visitorId = visitorId;
+            this.seq = seq;
+            this.lastSeen = lastSeen;
+        }
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -82,4 +83,95 @@ public class AuthControllerTest {
                 .content(loginJson))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    void loginUser_tokenAuthenticatesWithoutUserLookup() throws Exception {
+        String uniqueUsername = "testuser_" + System.nanoTime();
+        UserRegistrationRequest request = new UserRegistrationRequest();
+        request.setUsername(uniqueUsername);
+        request.setPassword("testpassword");
+        request.setEmail(uniqueUsername + "@example.com");
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        String response = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{ \"username\": \"" + uniqueUsername + "\", \"password\": \"testpassword\" }"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String token = objectMapper.readTree(response).get("token").asText();
+
+        // Twice: the second request is served from the verified-token cache
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/bookings").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.user").value(uniqueUsername));
+        }
+    }
+
+    @Test
+    void invalidToken_shouldNotAuthenticate() throws Exception {
+        mockMvc.perform(get("/api/bookings").header("Authorization", "Bearer not-a-jwt"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void refresh_rotatesTokenAndRejectsReuse() throws Exception {
+        String uniqueUsername = "testuser_" + System.nanoTime();
+        UserRegistrationRequest request = new UserRegistrationRequest();
+        request.setUsername(uniqueUsername);
+        request.setPassword("testpassword");
+        request.setEmail(uniqueUsername + "@example.com");
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        String login = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{ \"username\": \"" + uniqueUsername + "\", \"password\": \"testpassword\" }"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.refreshToken").exists())
+                .andReturn().getResponse().getContentAsString();
+        String refreshJson = "{ \"refreshToken\": \"" + objectMapper.readTree(login).get("refreshToken").asText() + "\" }";
+
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(refreshJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").exists())
+                .andExpect(jsonPath("$.refreshToken").exists());
+
+        // The old refresh token was rotated; presenting it again is reuse
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(refreshJson))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void logout_revokesAccessToken() throws Exception {
+        String uniqueUsername = "testuser_" + System.nanoTime();
+        UserRegistrationRequest request = new UserRegistrationRequest();
+        request.setUsername(uniqueUsername);
+        request.setPassword("testpassword");
+        request.setEmail(uniqueUsername + "@example.com");
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        String login = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{ \"username\": \"" + uniqueUsername + "\", \"password\": \"testpassword\" }"))
+                .andReturn().getResponse().getContentAsString();
+        String token = objectMapper.readTree(login).get("token").asText();
+
+        mockMvc.perform(post("/api/auth/logout").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/bookings").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
 }
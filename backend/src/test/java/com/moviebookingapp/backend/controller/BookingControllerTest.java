@@ -119,4 +119,39 @@ public class BookingControllerTest {
                 .content("{}"))
                 .andExpect(status().is4xxClientError());
     }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void createBooking_withSameIdempotencyKey_shouldReplayResponse() throws Exception {
+        String bookingJson = "{\"showtimeId\":999999,\"numTickets\":1,\"selectedSeats\":[\"A1\"]}";
+
+        mockMvc.perform(post("/api/bookings")
+                .header("Idempotency-Key", "replay-test")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(bookingJson))
+                .andExpect(status().is4xxClientError())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"));
+
+        mockMvc.perform(post("/api/bookings")
+                .header("Idempotency-Key", "replay-test")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(bookingJson))
+                .andExpect(status().is4xxClientError())
+                .andExpect(header().string("Idempotent-Replayed", "true"));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void createBooking_withReusedIdempotencyKey_shouldReturnUnprocessableEntity() throws Exception {
+        mockMvc.perform(post("/api/bookings")
+                .header("Idempotency-Key", "reuse-test")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"showtimeId\":999999,\"numTickets\":1,\"selectedSeats\":[\"A1\"]}"));
+
+        mockMvc.perform(post("/api/bookings")
+                .header("Idempotency-Key", "reuse-test")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"showtimeId\":999999,\"numTickets\":1,\"selectedSeats\":[\"A2\"]}"))
+                .andExpect(status().isUnprocessableEntity());
+    }
 }
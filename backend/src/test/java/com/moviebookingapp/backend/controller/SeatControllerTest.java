@@ -1,12 +1,22 @@
 package com.moviebookingapp.backend.controller;
 
+import com.moviebookingapp.backend.entity.Movie;
+import com.moviebookingapp.backend.entity.Showtime;
+import com.moviebookingapp.backend.entity.Theater;
+import com.moviebookingapp.backend.repository.MovieRepository;
+import com.moviebookingapp.backend.repository.ShowtimeRepository;
+import com.moviebookingapp.backend.repository.TheaterRepository;
+import com.moviebookingapp.backend.service.SeatService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
+
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -17,6 +27,18 @@ public class SeatControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private SeatService seatService;
+
     @Test
     void getSeatsByShowtime_shouldReturnSeatsForShowtime() throws Exception {
         // Test getting seats for a showtime
@@ -53,4 +75,59 @@ public class SeatControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.error").exists());
     }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void createHold_whenShowtimeNotExists_shouldReturnBadRequest() throws Exception {
+        // Test holding seats for a non-existent showtime
+        mockMvc.perform(post("/api/seats/showtime/999/holds")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"selectedSeats\":[\"A1\",\"A2\"]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").exists());
+    }
+
+    @Test
+    void getHold_whenHoldNotExists_shouldReturnNotFound() throws Exception {
+        // Test looking up an unknown hold
+        mockMvc.perform(get("/api/seats/showtime/1/holds/unknown-hold"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").exists());
+    }
+
+    @Test
+    void getBestSeats_whenShowtimeNotExists_shouldReturnBadRequest() throws Exception {
+        // Test best-available search for a non-existent showtime
+        mockMvc.perform(get("/api/seats/showtime/999/best").param("count", "2"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").exists());
+    }
+
+    @Test
+    void getSeatsByShowtime_whenUnchanged_shouldReturnNotModified() throws Exception {
+        // Test conditional GET with the seat-map version as ETag
+        Long showtimeId = createShowtime().getId();
+        String etag = mockMvc.perform(get("/api/seats/showtime/" + showtimeId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/seats/showtime/" + showtimeId).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+    }
+
+    // The test database has no sample data, so tests that need a showtime create their own.
+    // Seats are generated up front; otherwise the first read queues generation, which changes the version
+    private Showtime createShowtime() {
+        Movie movie = movieRepository.save(Movie.builder().title("Seat Controller Movie").build());
+        Theater theater = theaterRepository.save(Theater.builder().name("Seat Controller Hall").build());
+        Showtime showtime = showtimeRepository.save(Showtime.builder()
+                .movie(movie)
+                .theater(theater)
+                .showTime(LocalDateTime.now().plusDays(1))
+                .build());
+        seatService.generateSeatsForShowtime(showtime);
+        return showtime;
+    }
 }
@@ -66,6 +66,22 @@ public class TheaterControllerTest {
                 .andExpect(jsonPath("$.totalSeats").value(100));
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void createTheater_withMoreSeatsThanStandardRows_shouldReturnBadRequest() throws Exception {
+        // 313 seats need 27 rows of 12, one more than rows A-Z
+        String theaterJson = "{"
+                + "\"name\": \"Oversized Theater\","
+                + "\"totalSeats\": 313,"
+                + "\"isActive\": true"
+                + "}";
+
+        mockMvc.perform(post("/api/theaters")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(theaterJson))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithMockUser(roles = "USER")
     void createTheater_asUser_shouldReturnForbidden() throws Exception {
@@ -118,5 +118,28 @@ public class UserControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON));
     }
-}
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getCacheStats_afterDelete_shouldNotServeDeletedUser() throws Exception {
+        String uniqueUsername = "admintest_" + System.nanoTime();
+        User saved = userService.save(User.builder()
+                .username(uniqueUsername)
+                .password("testpassword")
+                .email(uniqueUsername + "@example.com")
+                .role("USER")
+                .build());
+
+        // Second lookup is a cache hit; the delete must drop it
+        userService.findByUsername(uniqueUsername);
+        userService.findByUsername(uniqueUsername);
+        userService.deleteUserById(saved.getId());
+
+        mockMvc.perform(get("/api/users/by-username/" + uniqueUsername))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/users/admin/cache-stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits").exists())
+                .andExpect(jsonPath("$.misses").exists());
+    }
+}
@@ -0,0 +1,68 @@
+package com.moviebookingapp.backend.controller;
+
+import com.moviebookingapp.backend.service.WaitingRoomService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class WaitingRoomControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WaitingRoomService waitingRoomService;
+
+    @Test
+    void join_whenRoomHasCapacity_shouldAdmitImmediately() throws Exception {
+        mockMvc.perform(post("/api/waiting-room/showtime/1/join"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.status").value("ADMITTED"));
+    }
+
+    @Test
+    void join_twiceWithoutToken_shouldKeepTheSameTicket() throws Exception {
+        Object maxActive = ReflectionTestUtils.getField(waitingRoomService, "maxActive");
+        ReflectionTestUtils.setField(waitingRoomService, "maxActive", 0);
+        try {
+            String first = mockMvc.perform(post("/api/waiting-room/showtime/424242/join"))
+                    .andExpect(jsonPath("$.status").value("WAITING"))
+                    .andReturn().getResponse().getContentAsString();
+            String second = mockMvc.perform(post("/api/waiting-room/showtime/424242/join"))
+                    .andExpect(jsonPath("$.status").value("WAITING"))
+                    .andExpect(jsonPath("$.position").value(1))
+                    .andReturn().getResponse().getContentAsString();
+            assertEquals(first, second);
+        } finally {
+            ReflectionTestUtils.setField(waitingRoomService, "maxActive", maxActive);
+        }
+    }
+
+    @Test
+    void getTicket_whenNotExists_shouldReturnNotFound() throws Exception {
+        mockMvc.perform(get("/api/waiting-room/showtime/1/tickets/unknown"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").exists());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getMetrics_shouldReturnQueueDepthAndAdmitRate() throws Exception {
+        mockMvc.perform(get("/api/waiting-room/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.queueDepth").exists())
+                .andExpect(jsonPath("$.admittedTotal").exists());
+    }
+}
@@ -0,0 +1,114 @@
+package com.moviebookingapp.backend.repository;
+
+import com.moviebookingapp.backend.entity.Movie;
+import com.moviebookingapp.backend.entity.Seat;
+import com.moviebookingapp.backend.entity.SeatCode;
+import com.moviebookingapp.backend.entity.Showtime;
+import com.moviebookingapp.backend.entity.Theater;
+import com.moviebookingapp.backend.service.SeatService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class SeatRepositoryTest {
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    @Test
+    void findAll_shouldBeRejectedOnSeatsTable() {
+        // Unfiltered scans of the seats table must never reach the database
+        assertThrows(UnsupportedOperationException.class, () -> seatRepository.findAll());
+        assertThrows(UnsupportedOperationException.class, () -> seatRepository.findAll(Sort.by("seatNumber")));
+        assertThrows(UnsupportedOperationException.class, () -> seatRepository.findAll(PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void findByShowtimeId_shouldReturnOnlySeatsOfThatShowtime() {
+        Showtime first = createShowtime();
+        Showtime second = createShowtime();
+        seatService.generateSeatsForShowtime(first);
+        seatService.generateSeatsForShowtime(second);
+
+        List<Seat> seats = seatService.findByShowtimeId(first.getId());
+
+        assertEquals(144, seats.size());
+        assertTrue(seats.stream().allMatch(seat -> seat.getShowtime().getId().equals(first.getId())));
+    }
+
+    @Test
+    void generateSeats_shouldFollowTheaterLayout() {
+        // 2 rows of 4 recliners split by an aisle: seats are numbered without the gap
+        Showtime showtime = createShowtime(Theater.builder()
+                .name("Layout Hall")
+                .seatLayout("RR.RR/RR.RR")
+                .totalSeats(8)
+                .build());
+        seatService.generateSeatsForShowtime(showtime);
+
+        List<Seat> seats = seatService.findByShowtimeId(showtime.getId());
+
+        assertEquals(8, seats.size());
+        assertTrue(seats.stream().anyMatch(seat -> seat.getSeatNumber().equals("B4")));
+        // Adjacent blocks never span the aisle
+        assertEquals(List.of("B1", "B2"), seatService.findBestBlock(showtime, 2));
+        assertTrue(seatService.findBestBlock(showtime, 3).isEmpty());
+    }
+
+    @Test
+    void generateSeatsForShowtimes_shouldCreateEverySeatOfEachShowtime() {
+        List<Showtime> showtimes = List.of(createShowtime(), createShowtime(), createShowtime());
+        seatService.generateSeatsForShowtimes(showtimes);
+
+        for (Showtime showtime : showtimes) {
+            assertEquals(144, seatRepository.findSeatStatesByShowtimeId(showtime.getId()).size());
+        }
+    }
+
+    @Test
+    void seatCodes_shouldRoundTripEveryGeneratedSeatNumber() {
+        Showtime showtime = createShowtime();
+        seatService.generateSeatsForShowtime(showtime);
+        List<String> seatNumbers = seatService.findByShowtimeId(showtime.getId()).stream()
+                .map(Seat::getSeatNumber)
+                .toList();
+
+        // Packed once at the edge, stored as bytes and formatted back without loss
+        int[] seatCodes = SeatCode.parseAll(seatNumbers);
+        assertEquals(seatNumbers, SeatCode.formatAll(SeatCode.fromBytes(SeatCode.toBytes(seatCodes))));
+    }
+
+    private Showtime createShowtime() {
+        return createShowtime(Theater.builder().name("Seat Guard Hall").build());
+    }
+
+    private Showtime createShowtime(Theater theater) {
+        Movie movie = movieRepository.save(Movie.builder().title("Seat Guard Movie").build());
+        theaterRepository.save(theater);
+        return showtimeRepository.save(Showtime.builder()
+                .movie(movie)
+                .theater(theater)
+                .showTime(LocalDateTime.now().plusDays(3))
+                .build());
+    }
+}
@@ -0,0 +1,113 @@
+package com.moviebookingapp.backend.service;
+
+import com.moviebookingapp.backend.entity.SeatCode;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Seat handling cost on the booking and cancellation paths: legacy comma-separated strings
+ * with regex row/seat parsing vs. packed SeatCode arrays. Logs time and bytes allocated per
+ * booking and publishes them as test report entries. Not part of the default test run:
+ *   mvn test -Pbenchmark -Dtest=SeatCodeBenchmark
+ */
+@Tag("benchmark")
+public class SeatCodeBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatCodeBenchmark.class);
+
+    private static final int BOOKINGS = 200_000;
+    private static final List<String> SEATS = List.of("F5", "F6", "F7", "F8", "F9", "F10");
+
+    private final SeatLayout layout = SeatLayout.parse(SeatLayout.standardSpec(144));
+
+    @Test
+    void compareStringAndPackedSeatHandling(TestReporter reporter) {
+        // Warm up JIT
+        run(this::legacyBooking, BOOKINGS / 10);
+        run(this::packedBooking, BOOKINGS / 10);
+
+        Result legacy = run(this::legacyBooking, BOOKINGS);
+        Result packed = run(this::packedBooking, BOOKINGS);
+
+        // Both paths must agree on which seats they touched
+        assertEquals(legacy.checksum, packed.checksum);
+        assertArrayEquals(SeatCode.parseAll(SEATS), SeatCode.fromBytes(SeatCode.toBytes(SeatCode.parseAll(SEATS))));
+
+        Map<String, String> perBooking = new LinkedHashMap<>();
+        perBooking.put("legacy.ns", String.format("%.1f", legacy.nanosPerOp));
+        perBooking.put("legacy.bytes", String.format("%.1f", legacy.bytesPerOp));
+        perBooking.put("packed.ns", String.format("%.1f", packed.nanosPerOp));
+        perBooking.put("packed.bytes", String.format("%.1f", packed.bytesPerOp));
+        reporter.publishEntry(perBooking);
+        log.info("Seat handling per booking + cancellation ({} seats, {} iterations): {}",
+            SEATS.size(), BOOKINGS, perBooking);
+    }
+
+    // What booking + cancellation did with seats before: dedupe via a set, join into the
+    // comma-separated column, then on cancel split it and regex-parse each seat
+    private long legacyBooking() {
+        if (new LinkedHashSet<>(SEATS).size() != SEATS.size()) {
+            throw new IllegalStateException();
+        }
+        String stored = String.join(",", SEATS);
+
+        long checksum = 0;
+        for (String seatNumber : stored.split(",")) {
+            String rowLetter = seatNumber.replaceAll("\\d", "");
+            int seatInRow = Integer.parseInt(seatNumber.replaceAll("\\D", ""));
+            checksum += layoutIndex(rowLetter.charAt(0) - 'A', seatInRow);
+        }
+        return checksum;
+    }
+
+    // Same work with packed codes: parse once at the edge, 2 bytes per seat persisted
+    private long packedBooking() {
+        int[] seatCodes = SeatCode.parseAll(SEATS);
+        if (BookingService.hasDuplicates(seatCodes)) {
+            throw new IllegalStateException();
+        }
+        byte[] stored = SeatCode.toBytes(seatCodes);
+
+        long checksum = 0;
+        for (int seatCode : SeatCode.fromBytes(stored)) {
+            checksum += layout.indexOf(seatCode);
+        }
+        return checksum;
+    }
+
+    private int layoutIndex(int row, int seatInRow) {
+        return layout.indexOf(SeatCode.of(row, seatInRow));
+    }
+
+    private record Result(double nanosPerOp, double bytesPerOp, long checksum) {
+    }
+
+    private static Result run(LongSupplier operation, int iterations) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long checksum = 0;
+
+        long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            checksum += operation.getAsLong();
+        }
+        long nanos = System.nanoTime() - start;
+        long bytes = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+
+        return new Result((double) nanos / iterations, (double) bytes / iterations, checksum);
+    }
+}
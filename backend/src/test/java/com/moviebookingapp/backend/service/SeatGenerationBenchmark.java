@@ -0,0 +1,122 @@
+package com.moviebookingapp.backend.service;
+
+import com.moviebookingapp.backend.entity.Movie;
+import com.moviebookingapp.backend.entity.Seat;
+import com.moviebookingapp.backend.entity.Showtime;
+import com.moviebookingapp.backend.entity.Theater;
+import com.moviebookingapp.backend.repository.MovieRepository;
+import com.moviebookingapp.backend.repository.SeatRepository;
+import com.moviebookingapp.backend.repository.ShowtimeRepository;
+import com.moviebookingapp.backend.repository.TheaterRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Per-showtime seat creation cost: legacy per-seat save() vs. bulk INSERT ... SELECT.
+ * Results are logged and published as test report entries. Not part of the default test run.
+ * Run on H2 with
+ *   mvn test -Pbenchmark -Dtest=SeatGenerationBenchmark
+ * and on PostgreSQL by also passing
+ *   -Dspring.datasource.url=jdbc:postgresql://host/db -Dspring.datasource.username=...
+ *   -Dspring.datasource.password=... -Dspring.datasource.driverClassName=org.postgresql.Driver
+ *   -Dspring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect
+ */
+@SpringBootTest
+@Tag("benchmark")
+public class SeatGenerationBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatGenerationBenchmark.class);
+
+    private static final int SHOWTIMES = 50;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    @Test
+    void compareLegacyAndBulkSeatGeneration(TestReporter reporter) {
+        // Warm up connection pool, JIT and statement caches
+        seatService.generateSeatsForShowtimes(createShowtimes(5));
+        legacyGenerate(createShowtimes(5));
+
+        List<Showtime> legacy = createShowtimes(SHOWTIMES);
+        long legacyStart = System.nanoTime();
+        legacyGenerate(legacy);
+        long legacyNanos = System.nanoTime() - legacyStart;
+
+        List<Showtime> single = createShowtimes(SHOWTIMES);
+        long singleStart = System.nanoTime();
+        for (Showtime showtime : single) {
+            seatService.generateSeatsForShowtime(showtime);
+        }
+        long singleNanos = System.nanoTime() - singleStart;
+
+        List<Showtime> batch = createShowtimes(SHOWTIMES);
+        long batchStart = System.nanoTime();
+        seatService.generateSeatsForShowtimes(batch);
+        long batchNanos = System.nanoTime() - batchStart;
+
+        for (Showtime showtime : batch) {
+            assertEquals(144, seatRepository.findSeatStatesByShowtimeId(showtime.getId()).size());
+        }
+
+        Map<String, String> perShowtimeMillis = new LinkedHashMap<>();
+        perShowtimeMillis.put("legacy.save-per-seat.ms", String.format("%.3f", legacyNanos / 1e6 / SHOWTIMES));
+        perShowtimeMillis.put("bulk.one-showtime.ms", String.format("%.3f", singleNanos / 1e6 / SHOWTIMES));
+        perShowtimeMillis.put("bulk.batched.ms", String.format("%.3f", batchNanos / 1e6 / SHOWTIMES));
+        reporter.publishEntry(perShowtimeMillis);
+        log.info("Seat generation per showtime ({} showtimes x 144 seats): {}", SHOWTIMES, perShowtimeMillis);
+    }
+
+    private void legacyGenerate(List<Showtime> showtimes) {
+        for (Showtime showtime : showtimes) {
+            for (char row = 'A'; row <= 'L'; row++) {
+                for (int seatNum = 1; seatNum <= 12; seatNum++) {
+                    seatRepository.save(Seat.builder()
+                            .showtime(showtime)
+                            .seatNumber(row + String.valueOf(seatNum))
+                            .isBooked(false)
+                            .build());
+                }
+            }
+        }
+    }
+
+    private List<Showtime> createShowtimes(int count) {
+        Movie movie = movieRepository.save(Movie.builder().title("Benchmark Movie").build());
+        Theater theater = theaterRepository.save(Theater.builder().name("Benchmark Hall").build());
+        List<Showtime> showtimes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            showtimes.add(Showtime.builder()
+                    .movie(movie)
+                    .theater(theater)
+                    .showTime(LocalDateTime.now().plusHours(i))
+                    .build());
+        }
+        return showtimeRepository.saveAll(showtimes);
+    }
+}
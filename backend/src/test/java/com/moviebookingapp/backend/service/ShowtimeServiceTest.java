@@ -0,0 +1,130 @@
+package com.moviebookingapp.backend.service;
+
+import com.moviebookingapp.backend.entity.Movie;
+import com.moviebookingapp.backend.entity.Showtime;
+import com.moviebookingapp.backend.entity.Theater;
+import com.moviebookingapp.backend.repository.MovieRepository;
+import com.moviebookingapp.backend.repository.ShowtimeRepository;
+import com.moviebookingapp.backend.repository.TheaterRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "seat.prewarm.initial-delay-ms=3600000"
+})
+public class ShowtimeServiceTest {
+
+    @Autowired
+    private ShowtimeService showtimeService;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    private Statistics statistics;
+    private Movie movie;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        movie = movieRepository.save(Movie.builder().title("Statement Count Movie").build());
+    }
+
+    @Test
+    void findAll_statementCountShouldNotGrowWithShowtimeCount() {
+        createShowtimes(2);
+        catalogCache.invalidateAll();
+        long fewShowtimes = statementsFor(() -> showtimeService.findAll());
+
+        createShowtimes(20);
+        catalogCache.invalidateAll();
+        long manyShowtimes = statementsFor(() -> showtimeService.findAll());
+
+        assertEquals(fewShowtimes, manyShowtimes);
+    }
+
+    @Test
+    void findAll_shouldBeServedFromCatalogCacheUntilInvalidated() {
+        createShowtimes(2);
+        catalogCache.invalidateAll();
+        int cachedCount = showtimeService.findAll().size();
+
+        createShowtimes(2);
+        assertEquals(0, statementsFor(() -> assertEquals(cachedCount, showtimeService.findAll().size())));
+
+        catalogCache.invalidateAll();
+        assertEquals(cachedCount + 2, showtimeService.findAll().size());
+    }
+
+    @Test
+    void findByMovieId_statementCountShouldNotGrowWithShowtimeCount() {
+        createShowtimes(2);
+        long fewShowtimes = statementsFor(() -> showtimeService.findByMovieId(movie.getId()));
+
+        createShowtimes(20);
+        long manyShowtimes = statementsFor(() -> showtimeService.findByMovieId(movie.getId()));
+
+        assertEquals(fewShowtimes, manyShowtimes);
+    }
+
+    @Test
+    void findByMovieId_shouldReportAvailableSeats() {
+        List<Showtime> showtimes = createShowtimes(2);
+
+        List<Showtime> result = showtimeService.findByMovieId(movie.getId());
+
+        assertEquals(2, result.size());
+        // First showtime has generated seats, second falls back to theater capacity
+        assertEquals(144, result.get(0).getAvailableSeats());
+        assertEquals(showtimes.get(1).getTotalSeats(), result.get(1).getAvailableSeats());
+    }
+
+    private long statementsFor(Runnable query) {
+        statistics.clear();
+        query.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    // Every other showtime gets its seats generated, so both code paths are exercised
+    private List<Showtime> createShowtimes(int count) {
+        Theater theater = theaterRepository.save(Theater.builder().name("Statement Count Hall").build());
+        List<Showtime> showtimes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            showtimes.add(showtimeRepository.save(Showtime.builder()
+                    .movie(movie)
+                    .theater(theater)
+                    .showTime(LocalDateTime.now().plusDays(1).plusMinutes(showtimes.size() + i))
+                    .build()));
+        }
+        for (int i = 0; i < showtimes.size(); i += 2) {
+            seatService.generateSeatsForShowtime(showtimes.get(i));
+        }
+        return showtimes;
+    }
+}